@@ -0,0 +1,68 @@
+package digital.bakehouse.rxusecase.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import digital.bakehouse.rxusecase.RxUseCase;
+import digital.bakehouse.rxusecase.decorator.SchedulerDecorator;
+import digital.bakehouse.rxusecase.operation.SynchronousUseCase;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Measures the time needed to run a burst of concurrent blocking
+ * use-cases on the io scheduler and on virtual threads.
+ * The virtual thread variant requires a Java 21 or newer runtime.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BlockingSchedulerBenchmark {
+
+    private static final long BLOCKING_MILLIS = 5;
+
+    @Param({"io", "virtual"})
+    public String scheduler;
+
+    @Param({"100", "1000", "10000"})
+    public int concurrency;
+
+    private RxUseCase<Void, Void> useCase;
+
+    @Setup
+    public void setUp() {
+        SchedulerDecorator decorator = "virtual".equals(scheduler)
+                ? SchedulerDecorator.subscribeOnVirtualThreads()
+                : SchedulerDecorator.subscribeOn(Schedulers.io());
+        useCase = new Sleep().decorateWith(decorator);
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            useCase.create().subscribe(response -> finished.countDown());
+        }
+        finished.await();
+    }
+
+    private static final class Sleep extends SynchronousUseCase<Void, Void> {
+        @Override
+        public Void act(Void input) {
+            try {
+                Thread.sleep(BLOCKING_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package digital.bakehouse.rxusecase.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.decorator.FailureConverter;
+import digital.bakehouse.rxusecase.decorator.LogDecorator;
+import digital.bakehouse.rxusecase.decorator.SchedulerDecorator;
+import digital.bakehouse.rxusecase.decorator.UseCaseDecorator;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Sets of global decorators the benchmarks are run against.
+ * The default {@link FailureConverter} is always applied by the library
+ * and therefore is not part of any of the sets.
+ * Log output is discarded and schedulers are trampolined so that
+ * only the decoration overhead gets measured.
+ * {@link #LOG_GATED} measures logging whose events are all below the minimum level.
+ */
+public enum Decoration {
+    NONE,
+    ONE,
+    MANY,
+    LOG_GATED;
+
+    private static final LogDecorator.LogOutput NO_OUTPUT = message -> {
+    };
+
+    List<UseCaseDecorator> decorators() {
+        switch (this) {
+            case ONE:
+                return Collections.<UseCaseDecorator>singletonList(
+                        LogDecorator.getWithOutput(NO_OUTPUT));
+            case MANY:
+                return Arrays.asList(
+                        LogDecorator.getWithOutput(NO_OUTPUT),
+                        SchedulerDecorator.allOn(Schedulers.trampoline()),
+                        FailureConverter.getWithFallback(new Failure("-1", "Unknown")));
+            case LOG_GATED:
+                return Collections.<UseCaseDecorator>singletonList(
+                        LogDecorator.newBuilder()
+                                .output(NO_OUTPUT)
+                                .level(LogDecorator.Level.ERROR)
+                                .build());
+            default:
+                return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package digital.bakehouse.rxusecase.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.FailureException;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+
+/**
+ * Compares the ways a synchronous operation can signal an expected failure:
+ * throwing a regular or a stackless {@link FailureException}, converted
+ * by the default {@link digital.bakehouse.rxusecase.decorator.FailureConverter},
+ * or returning a failure {@link Response} from an
+ * {@link digital.bakehouse.rxusecase.operation.Immediate} operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FailureBenchmark {
+
+    private static final Failure FAILURE = new Failure("1", "Failed");
+    private static final FailureException STACKLESS = FailureException.stackless(FAILURE);
+
+    private RxUseCase<String, String> throwing;
+    private RxUseCase<String, String> throwingStackless;
+    private RxUseCase<String, String> throwingSharedStackless;
+    private RxUseCase<String, String> immediate;
+    private LastResponseObserver<String> observer;
+
+    @Setup
+    public void setUp() {
+        throwing = RxUseCase.fromSynchronous(input -> {
+            throw new FailureException(FAILURE);
+        });
+        throwingStackless = RxUseCase.fromSynchronous(input -> {
+            throw FailureException.stackless(FAILURE);
+        });
+        throwingSharedStackless = RxUseCase.fromSynchronous(input -> {
+            throw STACKLESS;
+        });
+        immediate = RxUseCase.fromImmediate(input -> Response.fail(FAILURE));
+        observer = new LastResponseObserver<>();
+    }
+
+    @Benchmark
+    public Response<String> throwing() {
+        return run(throwing);
+    }
+
+    @Benchmark
+    public Response<String> throwingStackless() {
+        return run(throwingStackless);
+    }
+
+    @Benchmark
+    public Response<String> throwingSharedStackless() {
+        return run(throwingSharedStackless);
+    }
+
+    @Benchmark
+    public Response<String> immediate() {
+        return run(immediate);
+    }
+
+    private Response<String> run(RxUseCase<String, String> useCase) {
+        useCase.create("input").subscribe(observer);
+        return observer.take();
+    }
+}
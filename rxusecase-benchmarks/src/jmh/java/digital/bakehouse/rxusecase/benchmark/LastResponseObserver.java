@@ -0,0 +1,45 @@
+package digital.bakehouse.rxusecase.benchmark;
+
+import digital.bakehouse.rxusecase.Response;
+import io.reactivex.Observer;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Re-usable observer remembering the last emitted response,
+ * so that subscribing does not allocate consumer objects
+ * on behalf of the benchmark itself.
+ */
+final class LastResponseObserver<O> implements Observer<Response<O>>, SingleObserver<Response<O>> {
+
+    private Response<O> last;
+
+    @Override
+    public void onSubscribe(Disposable d) {
+    }
+
+    @Override
+    public void onNext(Response<O> response) {
+        last = response;
+    }
+
+    @Override
+    public void onSuccess(Response<O> response) {
+        last = response;
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        throw new IllegalStateException(e);
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    Response<O> take() {
+        Response<O> response = last;
+        last = null;
+        return response;
+    }
+}
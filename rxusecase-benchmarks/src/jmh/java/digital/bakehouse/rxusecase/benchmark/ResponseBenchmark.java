@@ -0,0 +1,80 @@
+package digital.bakehouse.rxusecase.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import digital.bakehouse.rxusecase.operation.SynchronousUseCase;
+
+/**
+ * Measures the allocations of the response factories and of the steady state
+ * success path of a synchronous use-case. Run with the gc profiler and compare
+ * the gc.alloc.rate.norm values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseBenchmark {
+
+    private static final Failure FAILURE = new Failure("1", "Failed");
+
+    private final String output = "output";
+    private RxUseCase<Void, Void> voidUseCase;
+    private RxUseCase<String, String> echoUseCase;
+    private LastResponseObserver<Void> voidObserver;
+    private LastResponseObserver<String> echoObserver;
+
+    @Setup
+    public void setUp() {
+        voidUseCase = new SynchronousUseCase<Void, Void>() {
+            @Override
+            public Void act(Void input) {
+                return null;
+            }
+        };
+        echoUseCase = new UseCases.Echo();
+        voidObserver = new LastResponseObserver<>();
+        echoObserver = new LastResponseObserver<>();
+    }
+
+    @Benchmark
+    public Response<Void> empty() {
+        return Response.empty();
+    }
+
+    @Benchmark
+    public Response<String> succeed() {
+        return Response.succeed(output);
+    }
+
+    @Benchmark
+    public Response<String> failConstant() {
+        return Response.fail(FAILURE);
+    }
+
+    @Benchmark
+    public Response<String> failCodeAndMessage() {
+        return Response.fail("1", "Failed");
+    }
+
+    @Benchmark
+    public Response<Void> synchronousVoid() {
+        voidUseCase.create().subscribe(voidObserver);
+        return voidObserver.take();
+    }
+
+    @Benchmark
+    public Response<String> synchronousEcho() {
+        echoUseCase.create(output).subscribe(echoObserver);
+        return echoObserver.take();
+    }
+}
@@ -0,0 +1,82 @@
+package digital.bakehouse.rxusecase.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import digital.bakehouse.rxusecase.decorator.UseCaseDecorator;
+import io.reactivex.Observable;
+
+/**
+ * Measures the cost of the create / decorate / subscribe pipeline
+ * for every kind of use-case, decorated by a growing set of global decorators.
+ * The "failure" input goes through the {@link digital.bakehouse.rxusecase.decorator.FailureConverter}
+ * path, the "success" input does not.
+ * Global decorators are registered per benchmark thread, so the benchmark
+ * is meant to be run single-threaded.
+ */
+@State(Scope.Thread)
+public class UseCaseBenchmark {
+
+    @Param
+    public UseCases useCase;
+
+    @Param
+    public Decoration decoration;
+
+    @Param({"success", UseCases.FAILING_INPUT})
+    public String input;
+
+    private List<UseCaseDecorator> globalDecorators;
+    private RxUseCase<String, String> rxUseCase;
+    private LastResponseObserver<String> observer;
+
+    @Setup
+    public void setUp() {
+        globalDecorators = decoration.decorators();
+        for (UseCaseDecorator decorator : globalDecorators) {
+            RxUseCase.addDecorator(decorator);
+        }
+        rxUseCase = useCase.create();
+        observer = new LastResponseObserver<>();
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (UseCaseDecorator decorator : globalDecorators) {
+            RxUseCase.removeDecorator(decorator);
+        }
+    }
+
+    @Benchmark
+    public Observable<Response<String>> create() {
+        return rxUseCase.create(Request.newBuilder(input).build());
+    }
+
+    @Benchmark
+    public Response<String> createAndSubscribe() {
+        rxUseCase.create(Request.newBuilder(input).build())
+                .subscribe(observer);
+        return observer.take();
+    }
+
+    @Benchmark
+    public Response<String> createSingleAndSubscribe() {
+        rxUseCase.createSingle(Request.newBuilder(input).build())
+                .subscribe(observer);
+        return observer.take();
+    }
+
+    @Benchmark
+    public Response<String> get() {
+        return rxUseCase.get(Request.newBuilder(input).build());
+    }
+}
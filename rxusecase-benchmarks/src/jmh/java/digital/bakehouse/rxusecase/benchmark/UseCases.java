@@ -0,0 +1,87 @@
+package digital.bakehouse.rxusecase.benchmark;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.FailureException;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import digital.bakehouse.rxusecase.operation.AsynchronousUseCase;
+import digital.bakehouse.rxusecase.operation.ContinuousUseCase;
+import digital.bakehouse.rxusecase.operation.DelegateUseCase;
+import digital.bakehouse.rxusecase.operation.SynchronousUseCase;
+import io.reactivex.Observable;
+
+/**
+ * Use-case fixtures for benchmarks.
+ * All of them complete on the subscribing thread so that the
+ * measurements are not dominated by thread hand-offs.
+ */
+public enum UseCases {
+    SYNCHRONOUS {
+        @Override
+        RxUseCase<String, String> create() {
+            return new Echo();
+        }
+    },
+    ASYNCHRONOUS {
+        @Override
+        RxUseCase<String, String> create() {
+            return new AsyncEcho();
+        }
+    },
+    CONTINUOUS {
+        @Override
+        RxUseCase<String, String> create() {
+            return new Repeat();
+        }
+    },
+    DELEGATE {
+        @Override
+        RxUseCase<String, String> create() {
+            return new DelegateUseCase<>(input -> Observable.just(Response.succeed(input)));
+        }
+    };
+
+    static final String FAILING_INPUT = "fail";
+    static final int CONTINUOUS_EMISSIONS = 8;
+
+    abstract RxUseCase<String, String> create();
+
+    static final class Echo extends SynchronousUseCase<String, String> {
+        @Override
+        public String act(String input) throws FailureException {
+            if (FAILING_INPUT.equals(input)) {
+                throw FailureException.create("1", "Failed");
+            }
+            return input;
+        }
+    }
+
+    static final class AsyncEcho extends AsynchronousUseCase<String, String> {
+        @Override
+        public void act(String input, Callback<String> callback) {
+            if (FAILING_INPUT.equals(input)) {
+                callback.fail(new Failure("1", "Failed"));
+            } else {
+                callback.succeed(input);
+            }
+        }
+    }
+
+    static final class Repeat extends ContinuousUseCase<String, String> {
+        @Override
+        public void act(String input, Notifier<String> notifier) {
+            for (int i = 0; i < CONTINUOUS_EMISSIONS; i++) {
+                notifier.notify(input);
+            }
+            if (FAILING_INPUT.equals(input)) {
+                notifier.complete(new Failure("1", "Failed"));
+            } else {
+                notifier.complete();
+            }
+        }
+
+        @Override
+        public void cancel(String input) {
+        }
+    }
+}
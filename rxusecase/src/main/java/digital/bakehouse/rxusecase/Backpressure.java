@@ -0,0 +1,140 @@
+package digital.bakehouse.rxusecase;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableOnSubscribe;
+import io.reactivex.Observable;
+
+/**
+ * Specification of how the {@link Flowable} streams of use-cases
+ * behave when their producers are faster than their consumers.
+ * It is applied at the source of the stream, and again after each run of
+ * decorators which are not {@link digital.bakehouse.rxusecase.decorator.FlowableDecorator}s,
+ * as they do not propagate the requests of the consumer.
+ * <p>
+ * See {@link RxUseCase#createFlowable(Request, Backpressure)} for reference.
+ */
+public final class Backpressure {
+
+    private static final long UNBOUNDED = -1;
+
+    private final BackpressureStrategy strategy;
+    private final long capacity;
+    private final BackpressureOverflowStrategy overflowStrategy;
+
+    private Backpressure(BackpressureStrategy strategy,
+                         long capacity,
+                         BackpressureOverflowStrategy overflowStrategy) {
+        this.strategy = strategy;
+        this.capacity = capacity;
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    /**
+     * Buffer all the items which could not be consumed yet.
+     * NOTE: The buffer is unbounded, see {@link #buffer(long)} for
+     * keeping the memory bounded.
+     *
+     * @return Unbounded buffer backpressure
+     */
+    public static Backpressure buffer() {
+        return new Backpressure(BackpressureStrategy.BUFFER, UNBOUNDED, null);
+    }
+
+    /**
+     * Buffer up to capacity items which could not be consumed yet
+     * and signal a {@link io.reactivex.exceptions.MissingBackpressureException}
+     * if the buffer overflows.
+     *
+     * @param capacity Buffer capacity
+     * @return Bounded buffer backpressure
+     */
+    public static Backpressure buffer(long capacity) {
+        return buffer(capacity, BackpressureOverflowStrategy.ERROR);
+    }
+
+    /**
+     * Buffer up to capacity items which could not be consumed yet
+     * and handle the buffer overflow according to the passed strategy.
+     *
+     * @param capacity         Buffer capacity
+     * @param overflowStrategy Buffer overflow strategy
+     * @return Bounded buffer backpressure
+     */
+    public static Backpressure buffer(long capacity,
+                                      BackpressureOverflowStrategy overflowStrategy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity should be positive!");
+        }
+        return new Backpressure(BackpressureStrategy.BUFFER, capacity, overflowStrategy);
+    }
+
+    /**
+     * Drop the items which could not be consumed yet.
+     *
+     * @return Dropping backpressure
+     */
+    public static Backpressure drop() {
+        return new Backpressure(BackpressureStrategy.DROP, UNBOUNDED, null);
+    }
+
+    /**
+     * Keep only the latest item which could not be consumed yet.
+     *
+     * @return Latest item backpressure
+     */
+    public static Backpressure latest() {
+        return new Backpressure(BackpressureStrategy.LATEST, UNBOUNDED, null);
+    }
+
+    /**
+     * Signal a {@link io.reactivex.exceptions.MissingBackpressureException}
+     * as soon as an item could not be consumed.
+     *
+     * @return Failing backpressure
+     */
+    public static Backpressure error() {
+        return new Backpressure(BackpressureStrategy.ERROR, UNBOUNDED, null);
+    }
+
+    /**
+     * Convert the passed {@link Observable} into a {@link Flowable}
+     * applying this backpressure specification.
+     *
+     * @param source Observable stream
+     * @param <T>    Item type
+     * @return Flowable stream
+     */
+    public <T> Flowable<T> apply(Observable<T> source) {
+        if (capacity == UNBOUNDED) {
+            return source.toFlowable(strategy);
+        }
+        return source.toFlowable(BackpressureStrategy.MISSING)
+                .onBackpressureBuffer(capacity, null, overflowStrategy);
+    }
+
+    /**
+     * Create a {@link Flowable} applying this backpressure specification.
+     *
+     * @param source Emitter based source
+     * @param <T>    Item type
+     * @return Flowable stream
+     */
+    public <T> Flowable<T> create(FlowableOnSubscribe<T> source) {
+        if (capacity == UNBOUNDED) {
+            return Flowable.create(source, strategy);
+        }
+        return Flowable.create(source, BackpressureStrategy.MISSING)
+                .onBackpressureBuffer(capacity, null, overflowStrategy);
+    }
+
+    @Override
+    public String toString() {
+        return "Backpressure{" +
+                "strategy=" + strategy +
+                ", capacity=" + capacity +
+                ", overflowStrategy=" + overflowStrategy +
+                '}';
+    }
+}
@@ -0,0 +1,245 @@
+package digital.bakehouse.rxusecase;
+
+import java.util.concurrent.TimeUnit;
+
+import org.reactivestreams.Subscriber;
+
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Observer;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Point in time by which the execution of a use-case should finish,
+ * set on its {@link Request}, see {@link Request.Builder#deadline(long, TimeUnit)}.
+ * When the deadline passes, the use-case streams emit the {@link #EXCEEDED}
+ * failure response and dispose the execution.
+ * <p>
+ * The deadline is propagated to the use-cases created during the execution,
+ * that is from {@link RxUseCase#execute(Object)} or while it is being subscribed to,
+ * ex. from {@link digital.bakehouse.rxusecase.operation.Synchronous} operations,
+ * if their requests do not have a deadline of their own. This way nested use-cases
+ * share the remaining time of the outer ones and do not keep running after them.
+ * Use-cases created later, ex. from operators running on other threads,
+ * can get it through {@link #current()} while it is available,
+ * or from the {@link Request#getDeadline()} of the outer use-case.
+ * <p>
+ * Deadlines are timed with {@link System#nanoTime()} and expire on the computation
+ * scheduler, unless they are created with a clock, see {@link #after(long, TimeUnit, Scheduler)}.
+ */
+public final class Deadline {
+
+    /**
+     * Code of the failure emitted when the deadline passes.
+     */
+    public static final String EXCEEDED_CODE = "DEADLINE_EXCEEDED";
+
+    /**
+     * Failure emitted when the deadline passes.
+     */
+    public static final Failure EXCEEDED = new Failure(EXCEEDED_CODE,
+            "Deadline exceeded!");
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long nanoTime;
+    private final Scheduler clock;
+
+    private Deadline(long nanoTime, Scheduler clock) {
+        this.nanoTime = nanoTime;
+        this.clock = clock;
+    }
+
+    /**
+     * Create a deadline passing after the passed time from now.
+     *
+     * @param timeout Time until the deadline
+     * @param unit    Time unit
+     * @return Deadline object
+     */
+    public static Deadline after(long timeout, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout), null);
+    }
+
+    /**
+     * Create a deadline passing after the passed time from the current time
+     * of the passed clock, ex. a {@link io.reactivex.schedulers.TestScheduler} for testing.
+     * The expiry of the use-case streams is scheduled on the clock as well.
+     *
+     * @param timeout Time until the deadline
+     * @param unit    Time unit
+     * @param clock   Time source
+     * @return Deadline object
+     */
+    public static Deadline after(long timeout, TimeUnit unit, Scheduler clock) {
+        Objects.requireNonNull(clock, "Clock should not be null!");
+        return new Deadline(clock.now(TimeUnit.NANOSECONDS) + unit.toNanos(timeout), clock);
+    }
+
+    /**
+     * Get the deadline of the use-case being executed on the calling thread.
+     *
+     * @return Current deadline or null if there is none
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Get the time left until the deadline.
+     *
+     * @param unit Time unit
+     * @return Remaining time, negative if the deadline passed
+     */
+    public long getRemaining(TimeUnit unit) {
+        return unit.convert(remainingNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Make this the current deadline of the calling thread.
+     *
+     * @return Previous deadline, to be restored by {@link #restore(Deadline)}
+     */
+    Deadline attach() {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    static void restore(Deadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private long remainingNanos() {
+        return nanoTime - (clock != null ? clock.now(TimeUnit.NANOSECONDS) : System.nanoTime());
+    }
+
+    private Scheduler scheduler() {
+        return clock != null ? clock : Schedulers.computation();
+    }
+
+    /**
+     * Make this the current deadline while the passed stream is subscribed to.
+     */
+    <T> Observable<T> propagate(Observable<T> stream) {
+        return new Attached<>(stream, this);
+    }
+
+    <T> Flowable<T> propagate(Flowable<T> stream) {
+        return new AttachedFlowable<>(stream, this);
+    }
+
+    <T> Single<T> propagate(Single<T> stream) {
+        return new AttachedSingle<>(stream, this);
+    }
+
+    /**
+     * Emit the {@link #EXCEEDED} failure response and dispose the passed stream
+     * if it did not terminate when the deadline passes.
+     * The stream is not subscribed to at all if the deadline already passed.
+     */
+    <O> Observable<Response<O>> enforce(Observable<Response<O>> stream) {
+        Observable<Long> expiry = Observable.defer(() -> Observable.timer(remainingNanos(),
+                TimeUnit.NANOSECONDS, scheduler()));
+        Observable<Response<O>> exceeded = Observable.just(Response.fail(EXCEEDED));
+        Observable<Response<O>> bounded = stream.timeout(expiry, ignored -> expiry, exceeded);
+        return Observable.defer(() -> isExpired() ? exceeded : bounded);
+    }
+
+    <O> Flowable<Response<O>> enforce(Flowable<Response<O>> stream) {
+        Flowable<Long> expiry = Flowable.defer(() -> Flowable.timer(remainingNanos(),
+                TimeUnit.NANOSECONDS, scheduler()));
+        Flowable<Response<O>> exceeded = Flowable.just(Response.fail(EXCEEDED));
+        Flowable<Response<O>> bounded = stream.timeout(expiry, ignored -> expiry, exceeded);
+        return Flowable.defer(() -> isExpired() ? exceeded : bounded);
+    }
+
+    <O> Single<Response<O>> enforce(Single<Response<O>> stream) {
+        Single<Response<O>> exceeded = Single.just(Response.fail(EXCEEDED));
+        return Single.defer(() -> {
+            long remaining = remainingNanos();
+            if (remaining <= 0) {
+                return exceeded;
+            }
+            return stream.timeout(remaining, TimeUnit.NANOSECONDS,
+                    scheduler(), exceeded);
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remaining=" + getRemaining(TimeUnit.MILLISECONDS) + "ms}";
+    }
+
+    private static final class Attached<T> extends Observable<T> {
+        private final Observable<T> source;
+        private final Deadline deadline;
+
+        private Attached(Observable<T> source, Deadline deadline) {
+            this.source = source;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void subscribeActual(Observer<? super T> observer) {
+            Deadline previous = deadline.attach();
+            try {
+                source.subscribe(observer);
+            } finally {
+                restore(previous);
+            }
+        }
+    }
+
+    private static final class AttachedFlowable<T> extends Flowable<T> {
+        private final Flowable<T> source;
+        private final Deadline deadline;
+
+        private AttachedFlowable(Flowable<T> source, Deadline deadline) {
+            this.source = source;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void subscribeActual(Subscriber<? super T> subscriber) {
+            Deadline previous = deadline.attach();
+            try {
+                source.subscribe(subscriber);
+            } finally {
+                restore(previous);
+            }
+        }
+    }
+
+    private static final class AttachedSingle<T> extends Single<T> {
+        private final Single<T> source;
+        private final Deadline deadline;
+
+        private AttachedSingle(Single<T> source, Deadline deadline) {
+            this.source = source;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void subscribeActual(SingleObserver<? super T> observer) {
+            Deadline previous = deadline.attach();
+            try {
+                source.subscribe(observer);
+            } finally {
+                restore(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package digital.bakehouse.rxusecase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Logger;
+
+import digital.bakehouse.rxusecase.decorator.FailureConverter;
+import digital.bakehouse.rxusecase.decorator.FlowableDecorator;
+import digital.bakehouse.rxusecase.decorator.InlineDecorator;
+import digital.bakehouse.rxusecase.decorator.SingleDecorator;
+import digital.bakehouse.rxusecase.decorator.UseCaseDecorator;
+import digital.bakehouse.rxusecase.operation.Immediate;
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+
+/**
+ * Immutable, pre-resolved chain of {@link UseCaseDecorator}s.
+ * A chain is built once, whenever the decorators of a use-case
+ * (or the global ones) change, composing its decorators into a single one,
+ * which is then applied to every use-case observable, without copying
+ * or iterating the decorators on each invocation.
+ */
+final class DecoratorChain {
+
+    private static final Logger LOGGER = Logger.getLogger(DecoratorChain.class.getName());
+
+    private final UseCaseDecorator[] decorators;
+    private final SingleDecorator composed;
+    private final UseCaseDecorator[] flowableSegments;
+    private final boolean inline;
+    private final boolean flowable;
+    private volatile boolean bridgeWarned;
+
+    private DecoratorChain(UseCaseDecorator[] decorators) {
+        this.decorators = decorators;
+        this.composed = compose(decorators, 0, decorators.length);
+        this.flowableSegments = segment(decorators);
+        this.inline = allInline(decorators);
+        this.flowable = allFlowable(decorators);
+    }
+
+    /**
+     * Compose the passed range of decorators into a single decorator,
+     * applying them in order.
+     */
+    private static SingleDecorator compose(UseCaseDecorator[] decorators, int from, int to) {
+        SingleDecorator result = null;
+        for (int i = from; i < to; i++) {
+            result = new Composed(result, decorators[i]);
+        }
+        return result != null ? result : Identity.INSTANCE;
+    }
+
+    /**
+     * Split the passed decorators into {@link FlowableDecorator}s and
+     * composed runs of consecutive decorators which are not.
+     */
+    private static UseCaseDecorator[] segment(UseCaseDecorator[] decorators) {
+        List<UseCaseDecorator> result = new ArrayList<>();
+        int index = 0;
+        while (index < decorators.length) {
+            if (decorators[index] instanceof FlowableDecorator) {
+                result.add(decorators[index++]);
+                continue;
+            }
+            int start = index;
+            while (index < decorators.length
+                    && !(decorators[index] instanceof FlowableDecorator)) {
+                index++;
+            }
+            result.add(compose(decorators, start, index));
+        }
+        return result.toArray(new UseCaseDecorator[0]);
+    }
+
+    private static boolean allFlowable(UseCaseDecorator[] decorators) {
+        for (UseCaseDecorator decorator : decorators) {
+            if (!(decorator instanceof FlowableDecorator)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allInline(UseCaseDecorator[] decorators) {
+        for (UseCaseDecorator decorator : decorators) {
+            if (!(decorator instanceof InlineDecorator)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Create a chain containing only the default decorators.
+     *
+     * @return Default chain
+     */
+    static DecoratorChain withDefaults() {
+        return new DecoratorChain(new UseCaseDecorator[]{FailureConverter.getDefault()});
+    }
+
+    /**
+     * Create a new chain having the passed decorator appended to this one.
+     *
+     * @param decorator Decorator to append
+     * @return New chain
+     */
+    DecoratorChain plus(UseCaseDecorator decorator) {
+        UseCaseDecorator[] result = new UseCaseDecorator[decorators.length + 1];
+        System.arraycopy(decorators, 0, result, 0, decorators.length);
+        result[decorators.length] = decorator;
+        return new DecoratorChain(result);
+    }
+
+    /**
+     * Create a new chain having the passed decorators appended to this one.
+     *
+     * @param appended Decorators to append
+     * @return New chain
+     */
+    DecoratorChain plus(Collection<UseCaseDecorator> appended) {
+        UseCaseDecorator[] result = new UseCaseDecorator[decorators.length + appended.size()];
+        System.arraycopy(decorators, 0, result, 0, decorators.length);
+        int index = decorators.length;
+        for (UseCaseDecorator decorator : appended) {
+            result[index++] = decorator;
+        }
+        return new DecoratorChain(result);
+    }
+
+    /**
+     * Create a new chain without the first occurrence of the passed decorator.
+     * If the decorator is not part of this chain, this chain is returned.
+     *
+     * @param decorator Decorator to remove
+     * @return New chain
+     */
+    DecoratorChain minus(UseCaseDecorator decorator) {
+        for (int i = 0; i < decorators.length; i++) {
+            if (decorators[i].equals(decorator)) {
+                UseCaseDecorator[] result = new UseCaseDecorator[decorators.length - 1];
+                System.arraycopy(decorators, 0, result, 0, i);
+                System.arraycopy(decorators, i + 1, result, i, decorators.length - i - 1);
+                return new DecoratorChain(result);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Create a new chain having the first occurrence of the passed decorator
+     * replaced. If the decorator is not part of this chain, this chain is returned.
+     *
+     * @param decorator   Decorator to replace
+     * @param replacement Replacement decorator
+     * @return New chain
+     */
+    DecoratorChain replace(UseCaseDecorator decorator, UseCaseDecorator replacement) {
+        for (int i = 0; i < decorators.length; i++) {
+            if (decorators[i].equals(decorator)) {
+                UseCaseDecorator[] result = decorators.clone();
+                result[i] = replacement;
+                return new DecoratorChain(result);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Apply the chain to the passed observable stream.
+     *
+     * @param stream  Observable stream to decorate
+     * @param request Request object
+     * @param <I>     Input type
+     * @param <O>     Output type
+     * @return Decorated observable stream
+     */
+    <I, O> Observable<Response<O>> decorate(Observable<Response<O>> stream,
+                                            Request<I> request) {
+        return composed.decorate(stream, request);
+    }
+
+    /**
+     * Apply the chain to the passed flowable stream.
+     * Each run of consecutive decorators which are not {@link FlowableDecorator}s
+     * is applied on the observable form of the stream, the passed backpressure
+     * being applied again on the result. Such a segment does not propagate
+     * the requests of the consumer to the source, so a warning is logged
+     * the first time the chain bridges one.
+     *
+     * @param stream       Flowable stream to decorate
+     * @param request      Request object
+     * @param backpressure Backpressure of the stream
+     * @param <I>          Input type
+     * @param <O>          Output type
+     * @return Decorated flowable stream
+     */
+    <I, O> Flowable<Response<O>> decorate(Flowable<Response<O>> stream,
+                                          Request<I> request,
+                                          Backpressure backpressure) {
+        Flowable<Response<O>> result = stream;
+        for (UseCaseDecorator segment : flowableSegments) {
+            if (segment instanceof FlowableDecorator) {
+                result = ((FlowableDecorator) segment).decorateFlowable(result, request);
+            } else {
+                warnBridged();
+                result = backpressure.apply(segment.decorate(result.toObservable(), request));
+            }
+        }
+        return result;
+    }
+
+    private void warnBridged() {
+        if (!bridgeWarned && !flowable) {
+            bridgeWarned = true;
+            LOGGER.warning("Decorators " + nonFlowableNames(decorators) + " are not "
+                    + "FlowableDecorators, the backpressure of use-case flowables is not "
+                    + "propagated through them but applied again after them.");
+        }
+    }
+
+    private static String nonFlowableNames(UseCaseDecorator[] decorators) {
+        StringBuilder builder = new StringBuilder("[");
+        for (UseCaseDecorator decorator : decorators) {
+            if (!(decorator instanceof FlowableDecorator)) {
+                if (builder.length() > 1) {
+                    builder.append(", ");
+                }
+                builder.append(decorator.getClass().getSimpleName());
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Apply the chain to the passed single stream.
+     * Decorators which are not {@link SingleDecorator}s are applied
+     * on the observable form of the stream, its first item being taken back.
+     *
+     * @param stream  Single stream to decorate
+     * @param request Request object
+     * @param <I>     Input type
+     * @param <O>     Output type
+     * @return Decorated single stream
+     */
+    <I, O> Single<Response<O>> decorate(Single<Response<O>> stream, Request<I> request) {
+        return composed.decorateSingle(stream, request);
+    }
+
+    /**
+     * Check whether all the decorators of the chain are {@link InlineDecorator}s,
+     * so it can be applied by {@link #invoke(Immediate, Request)}.
+     *
+     * @return True if the chain can decorate direct invocations
+     */
+    boolean isInline() {
+        return inline;
+    }
+
+    /**
+     * Invoke the passed operation on the calling thread, applying
+     * the chain around the invocation.
+     * Should be called only for chains which are {@link #isInline()}.
+     *
+     * @param operation Operation to invoke
+     * @param request   Request object
+     * @param <I>       Input type
+     * @param <O>       Output type
+     * @return Decorated operation response
+     */
+    <I, O> Response<O> invoke(Immediate<I, O> operation, Request<I> request) {
+        InlineDecorator.Invocation<O> invocation = () ->
+                Objects.requireNonNull(operation.act(request.getInput()),
+                        "The operation returned a null response!");
+        for (UseCaseDecorator decorator : decorators) {
+            InlineDecorator.Invocation<O> decorated = invocation;
+            invocation = () -> ((InlineDecorator) decorator).decorateInline(decorated, request);
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * Decorator leaving the streams unchanged, composing an empty chain.
+     */
+    private static final class Identity implements SingleDecorator {
+        private static final Identity INSTANCE = new Identity();
+
+        @Override
+        public <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                       Request<I> request) {
+            return origin;
+        }
+
+        @Override
+        public <I, O> Single<Response<O>> decorateSingle(Single<Response<O>> origin,
+                                                         Request<I> request) {
+            return origin;
+        }
+    }
+
+    /**
+     * Decorator applying a decorator on the result of the previous ones.
+     */
+    private static final class Composed implements SingleDecorator {
+        private final SingleDecorator previous;
+        private final UseCaseDecorator decorator;
+
+        private Composed(SingleDecorator previous, UseCaseDecorator decorator) {
+            this.previous = previous;
+            this.decorator = decorator;
+        }
+
+        @Override
+        public <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                       Request<I> request) {
+            Observable<Response<O>> result = previous != null
+                    ? previous.decorate(origin, request) : origin;
+            return decorator.decorate(result, request);
+        }
+
+        @Override
+        public <I, O> Single<Response<O>> decorateSingle(Single<Response<O>> origin,
+                                                         Request<I> request) {
+            Single<Response<O>> result = previous != null
+                    ? previous.decorateSingle(origin, request) : origin;
+            if (decorator instanceof SingleDecorator) {
+                return ((SingleDecorator) decorator).decorateSingle(result, request);
+            }
+            return decorator.decorate(result.toObservable(), request).firstOrError();
+        }
+    }
+}
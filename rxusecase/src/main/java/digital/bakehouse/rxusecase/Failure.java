@@ -10,9 +10,10 @@ import digital.bakehouse.rxusecase.toolbox.Objects;
  * wrapping errors returned by the logic/action/mechanism they represent.
  */
 public class Failure {
-    private String code;
-    private String message;
-    private Collection<Failure> children;
+    private final String code;
+    private final String message;
+    private final Collection<Failure> children;
+    private Response<?> response;
 
     /**
      * Create a failure with code and message.
@@ -21,8 +22,7 @@ public class Failure {
      * @param message Failure message
      */
     public Failure(String code, String message) {
-        this.code = code;
-        this.message = message;
+        this(code, message, null);
     }
 
     /**
@@ -54,6 +54,26 @@ public class Failure {
         return children;
     }
 
+    /**
+     * Get the failure {@link Response} wrapping this failure.
+     * The response holds no data, so it is created lazily, the first time
+     * it is needed, and shared for all output types. The cache is racy
+     * on purpose: the response has only final fields, so it is safely
+     * published, and concurrent callers at worst create a duplicate.
+     *
+     * @param <O> Output type
+     * @return Response object
+     */
+    @SuppressWarnings("unchecked")
+    <O> Response<O> toResponse() {
+        Response<?> result = response;
+        if (result == null) {
+            result = new Response<>(null, this);
+            response = result;
+        }
+        return (Response<O>) result;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
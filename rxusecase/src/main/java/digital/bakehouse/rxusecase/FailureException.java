@@ -4,6 +4,8 @@ package digital.bakehouse.rxusecase;
  * Exception class acting as a wrapper for {@link Failure} objects.
  */
 public class FailureException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     private Failure failure;
 
     /**
@@ -55,4 +57,44 @@ public class FailureException extends Exception {
     public static FailureException create(String errorCode, String errorMessage) {
         return new FailureException(new Failure(errorCode, errorMessage));
     }
+
+    /**
+     * Factory method to create an exception which does not capture the stack trace.
+     * Capturing the stack trace is the most expensive part of creating an exception,
+     * and it is of no use for expected, logical errors.
+     * Stackless exceptions can also be created once and thrown repeatedly.
+     *
+     * @param failure Failure to wrap
+     * @return Stackless exception
+     */
+    public static FailureException stackless(Failure failure) {
+        return new Stackless(failure);
+    }
+
+    /**
+     * Factory method to wrap the passed error code and message into
+     * a {@link Failure} object enclosed by an exception which does not
+     * capture the stack trace.
+     * See {@link #stackless(Failure)} for reference.
+     *
+     * @param errorCode    Failure code
+     * @param errorMessage Failure message
+     * @return Stackless exception
+     */
+    public static FailureException stackless(String errorCode, String errorMessage) {
+        return stackless(new Failure(errorCode, errorMessage));
+    }
+
+    private static final class Stackless extends FailureException {
+        private static final long serialVersionUID = 1L;
+
+        private Stackless(Failure failure) {
+            super(failure);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
 }
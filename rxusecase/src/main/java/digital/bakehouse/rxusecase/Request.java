@@ -2,7 +2,9 @@ package digital.bakehouse.rxusecase;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import digital.bakehouse.rxusecase.toolbox.CompactMap;
 import digital.bakehouse.rxusecase.toolbox.Objects;
 
 /**
@@ -11,7 +13,8 @@ import digital.bakehouse.rxusecase.toolbox.Objects;
  * for the action/logic/mechanism they wrap/define.
  * Additionally this class exposes ways of tagging and setting
  * extra parameters to requests which can be used by use-cases
- * and their decorators.
+ * and their decorators. Extra parameters added one by one are kept
+ * in a {@link CompactMap} while they are few, and can be typed, see {@link Key}.
  *
  * @param <I> Input type
  */
@@ -20,11 +23,21 @@ public class Request<I> {
     private Object tag;
     private String origin;
     private Map<String, Object> extras;
+    private Deadline deadline;
 
     private Request(Builder<I> builder) {
         input = builder.input;
         tag = builder.tag;
         extras = builder.extras;
+        deadline = builder.deadline;
+    }
+
+    private Request(Request<I> request, Deadline deadline) {
+        input = request.input;
+        tag = request.tag;
+        origin = request.origin;
+        extras = request.extras;
+        this.deadline = deadline;
     }
 
     public I getInput() {
@@ -35,10 +48,51 @@ public class Request<I> {
         return tag;
     }
 
+    /**
+     * Get the extra parameters of the request. The returned map is the one
+     * held by the request and accepts any number of changes.
+     *
+     * @return Extra parameters or null if none were set
+     */
     public Map<String, Object> getExtras() {
         return extras;
     }
 
+    /**
+     * Get the value of the extra parameter of the passed key.
+     *
+     * @param key Parameter key
+     * @param <T> Value type
+     * @return Parameter value or null if it is not set
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getExtra(Key<T> key) {
+        if (extras == null) {
+            return null;
+        }
+        return (T) extras.get(key.name);
+    }
+
+    /**
+     * Get the deadline by which the use-case execution should finish.
+     * See {@link Deadline} for reference.
+     *
+     * @return Request deadline or null if there is none
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Create a copy of the {@link Request} having the passed deadline.
+     *
+     * @param deadline Request deadline
+     * @return New request
+     */
+    Request<I> withDeadline(Deadline deadline) {
+        return new Request<>(this, deadline);
+    }
+
     /**
      * Set the originator of the {@link Request}.
      * Useful for logging.
@@ -82,6 +136,7 @@ public class Request<I> {
                 ", tag=" + tag +
                 ", origin='" + origin + '\'' +
                 ", extras=" + extras +
+                ", deadline=" + deadline +
                 '}';
     }
 
@@ -110,6 +165,47 @@ public class Request<I> {
         return new Builder<>(null);
     }
 
+    /**
+     * Typed key of an extra parameter of {@link Request}s.
+     * Its value is stored under the key name in {@link #getExtras()},
+     * so it is the same parameter as the one set with the name as string key.
+     * Keys are meant to be created once, as constants:
+     * <pre>
+     * static final Request.Key&lt;Locale&gt; LOCALE = Request.Key.of("locale");
+     * Request&lt;String&gt; request = Request.newBuilder(input).extra(LOCALE, locale).build();
+     * Locale locale = request.getExtra(LOCALE);
+     * </pre>
+     *
+     * @param <T> Value type
+     */
+    public static final class Key<T> {
+        private final String name;
+
+        private Key(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Create a typed key.
+         *
+         * @param name Key name
+         * @param <T>  Value type
+         * @return Key object
+         */
+        public static <T> Key<T> of(String name) {
+            return new Key<>(Objects.requireNonNull(name, "Key name should not be null!"));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" + name + '}';
+        }
+    }
+
     /**
      * Builder pattern for creating and configuring {@link Request} objects.
      *
@@ -119,6 +215,7 @@ public class Request<I> {
         private I input;
         private Object tag;
         private Map<String, Object> extras;
+        private Deadline deadline;
 
         Builder(I input) {
             this.input = input;
@@ -156,12 +253,52 @@ public class Request<I> {
          */
         public Builder<I> extra(String key, Object value) {
             if (extras == null) {
-                extras = new HashMap<>();
+                extras = new CompactMap<>();
+            } else if (extras instanceof CompactMap
+                    && ((CompactMap<String, Object>) extras).isFull()
+                    && !extras.containsKey(key)) {
+                extras = new HashMap<>(extras);
             }
             extras.put(key, value);
             return this;
         }
 
+        /**
+         * Add a typed extra parameter to the built {@link Request}
+         *
+         * @param key   Parameter key
+         * @param value Parameter value
+         * @param <T>   Value type
+         * @return This builder
+         */
+        public <T> Builder<I> extra(Key<T> key, T value) {
+            return extra(key.name, value);
+        }
+
+        /**
+         * Set the time by which the use-case execution should finish,
+         * from now on. See {@link Deadline} for reference.
+         *
+         * @param timeout Time until the deadline
+         * @param unit    Time unit
+         * @return This builder
+         */
+        public Builder<I> deadline(long timeout, TimeUnit unit) {
+            return deadline(Deadline.after(timeout, unit));
+        }
+
+        /**
+         * Set the deadline by which the use-case execution should finish,
+         * ex. the one of an outer use-case.
+         *
+         * @param deadline Request deadline
+         * @return This builder
+         */
+        public Builder<I> deadline(Deadline deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
         /**
          * Build the {@link Request} configured with data
          * passed in the builder methods.
@@ -10,8 +10,10 @@ import digital.bakehouse.rxusecase.toolbox.Objects;
  * @param <O> Output type
  */
 public class Response<O> {
-    private O data;
-    private Failure failure;
+    private static final Response<?> EMPTY = new Response<>(null, null);
+
+    private final O data;
+    private final Failure failure;
 
     /**
      * Wrap success data and failure object
@@ -44,24 +46,34 @@ public class Response<O> {
 
     /**
      * Factory method to wrap success data into a {@link Response} object.
+     * Null data is always wrapped into the same shared instance.
      *
      * @param output Success data
      * @param <O>    Output type
      * @return Response object
      */
+    @SuppressWarnings("unchecked")
     public static <O> Response<O> succeed(O output) {
+        if (output == null) {
+            return (Response<O>) EMPTY;
+        }
         return new Response<>(output, null);
     }
 
     /**
      * Factory method to wrap a failure into a {@link Response} object.
+     * The response is created once per {@link Failure} instance and then shared,
+     * so failures defined as constants are emitted without allocating.
      *
      * @param failure Failure data
      * @param <O>     Output type
      * @return Response object
      */
     public static <O> Response<O> fail(Failure failure) {
-        return new Response<>(null, failure);
+        if (failure == null) {
+            return new Response<>(null, null);
+        }
+        return failure.toResponse();
     }
 
     /**
@@ -91,11 +103,13 @@ public class Response<O> {
 
     /**
      * Factory method to create a {@link Void} wrapped success {@link Response} object.
+     * The same shared instance is returned on every invocation.
      *
      * @return Response object
      */
+    @SuppressWarnings("unchecked")
     public static Response<Void> empty() {
-        return succeed(null);
+        return (Response<Void>) EMPTY;
     }
 
     @Override
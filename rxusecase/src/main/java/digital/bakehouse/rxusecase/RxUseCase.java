@@ -1,22 +1,28 @@
 package digital.bakehouse.rxusecase;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
 
-import digital.bakehouse.rxusecase.decorator.FailureConverter;
+import digital.bakehouse.rxusecase.decorator.FlowableDecorator;
+import digital.bakehouse.rxusecase.decorator.InlineDecorator;
+import digital.bakehouse.rxusecase.decorator.SingleDecorator;
 import digital.bakehouse.rxusecase.decorator.UseCaseDecorator;
 import digital.bakehouse.rxusecase.operation.Asynchronous;
 import digital.bakehouse.rxusecase.operation.Continuous;
 import digital.bakehouse.rxusecase.operation.DelegateUseCase;
+import digital.bakehouse.rxusecase.operation.Immediate;
 import digital.bakehouse.rxusecase.operation.RxSource;
 import digital.bakehouse.rxusecase.operation.Synchronous;
 import digital.bakehouse.rxusecase.toolbox.Objects;
 import digital.bakehouse.rxusecase.toolbox.SafeEmitter;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableEmitter;
 import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
 import io.reactivex.ObservableOnSubscribe;
+import io.reactivex.Single;
 
-import static io.reactivex.Observable.defer;
 import static io.reactivex.Observable.fromCallable;
 import static io.reactivex.Observable.just;
 
@@ -42,14 +48,12 @@ import static io.reactivex.Observable.just;
  * @param <O> Output type
  */
 public abstract class RxUseCase<I, O> {
-    private static final Collection<UseCaseDecorator> GLOBAL_DECORATORS = new ArrayList<>();
-
-    static {
-        addDefaultDecoratorsInto(GLOBAL_DECORATORS);
-    }
+    private static final AtomicReference<DecoratorChain> GLOBAL_DECORATORS =
+            new AtomicReference<>(DecoratorChain.withDefaults());
+    private static final Backpressure BULK_BACKPRESSURE = Backpressure.buffer();
 
     private final String DEFAULT_ORIGIN = getClass().getSimpleName();
-    private Collection<UseCaseDecorator> decorators;
+    private DecoratorChain decorators;
     private String origin;
 
     /**
@@ -82,13 +86,258 @@ public abstract class RxUseCase<I, O> {
      * that this use-case represents.
      * Typically the subscription to the returned {@link Observable}
      * will trigger the execution of the use-case.
+     * The returned {@link Observable} is already decorated, the decorators
+     * are not applied again for each of its subscriptions.
+     * If the request has a {@link Deadline}, or one is inherited from the use-case
+     * executed on the calling thread, the stream emits the {@link Deadline#EXCEEDED}
+     * failure response and disposes the execution when it passes.
      *
      * @param request Use-case request
      * @return Observable stream
      */
     public final Observable<Response<O>> create(Request<I> request) {
-        return decorate(execute(request.getInput()),
-                withOrigin(request, getOrigin()), getDecorators());
+        Request<I> prepared = prepare(request);
+        Deadline deadline = prepared.getDeadline();
+        if (deadline == null) {
+            return getDecorators().decorate(executeSafely(prepared.getInput()), prepared);
+        }
+        Deadline previous = deadline.attach();
+        try {
+            Observable<Response<O>> stream = deadline.propagate(
+                    executeSafely(prepared.getInput()));
+            return deadline.enforce(getDecorators().decorate(stream, prepared));
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+
+    /**
+     * Create use-case flowable without passing any input.
+     * This effectively will invoke {@link #createFlowable(Object, Backpressure)}
+     * passing null as input.
+     *
+     * @param backpressure Backpressure of the stream
+     * @return Flowable stream
+     */
+    public final Flowable<Response<O>> createFlowable(Backpressure backpressure) {
+        return createFlowable((I) null, backpressure);
+    }
+
+    /**
+     * Create use-case flowable with input.
+     * The passed input will be wrapped into a {@link Request} object
+     * and passed to the {@link #createFlowable(Request, Backpressure)} method.
+     *
+     * @param input        Use-case input
+     * @param backpressure Backpressure of the stream
+     * @return Flowable stream
+     */
+    public final Flowable<Response<O>> createFlowable(I input, Backpressure backpressure) {
+        return createFlowable(wrapRequest(input), backpressure);
+    }
+
+    /**
+     * Create use-case flowable passing a {@link Request} parameter.
+     * This is the backpressured variant of {@link #create(Request)}, useful
+     * for use-cases which may emit faster than their items are consumed,
+     * ex. {@link Continuous} operations.
+     * The passed {@link Backpressure} is applied at the source of the stream,
+     * the decorators being applied on the resulting {@link Flowable}.
+     * NOTE: Only {@link FlowableDecorator}s, ex. the ones of this library, propagate
+     * the requests of the consumer to the source. Any other decorator of the use-case,
+     * including the global ones, is applied on the {@link Observable} form of the stream,
+     * so the backpressure is applied again after it, buffering or dropping the items
+     * it emits according to the strategy, and a warning is logged.
+     * <p>
+     * See {@link Backpressure} and {@link FlowableDecorator} for reference.
+     *
+     * @param request      Use-case request
+     * @param backpressure Backpressure of the stream
+     * @return Flowable stream
+     */
+    public final Flowable<Response<O>> createFlowable(Request<I> request,
+                                                      Backpressure backpressure) {
+        Objects.requireNonNull(backpressure, "Backpressure should not be null!");
+        return createFlowable(getDecorators(), request, backpressure);
+    }
+
+    private Flowable<Response<O>> createFlowable(DecoratorChain chain, Request<I> request,
+                                                 Backpressure backpressure) {
+        Request<I> prepared = prepare(request);
+        Deadline deadline = prepared.getDeadline();
+        if (deadline == null) {
+            return chain.decorate(executeFlowable(prepared.getInput(), backpressure),
+                    prepared, backpressure);
+        }
+        Deadline previous = deadline.attach();
+        try {
+            Flowable<Response<O>> stream = deadline.propagate(
+                    executeFlowable(prepared.getInput(), backpressure));
+            return deadline.enforce(chain.decorate(stream, prepared, backpressure));
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+
+    /**
+     * Create use-case flowable executing the use-case for each of the passed inputs.
+     * See {@link #createAll(Flowable, int)} for reference.
+     *
+     * @param inputs         Use-case inputs
+     * @param maxConcurrency Maximum number of executions running at the same time
+     * @return Flowable stream
+     */
+    public final Flowable<Response<O>> createAll(Iterable<I> inputs, int maxConcurrency) {
+        Objects.requireNonNull(inputs, "Inputs should not be null!");
+        return createAll(Flowable.fromIterable(inputs), maxConcurrency);
+    }
+
+    /**
+     * Create use-case flowable executing the use-case for each of the passed inputs,
+     * emitting the {@link Response}s of all the executions in the order of their inputs.
+     * At most maxConcurrency executions run at the same time, the responses of executions
+     * finishing earlier than the ones of the previous inputs being buffered.
+     * The decorators are resolved once, when this method is invoked, and applied
+     * to each execution as for {@link #createFlowable(Request, Backpressure)}.
+     * <p>
+     * Executions run in parallel only if they are asynchronous, ex. when the use-case
+     * is decorated with a {@link digital.bakehouse.rxusecase.decorator.SchedulerDecorator}.
+     *
+     * @param inputs         Use-case inputs
+     * @param maxConcurrency Maximum number of executions running at the same time
+     * @return Flowable stream
+     */
+    public final Flowable<Response<O>> createAll(Flowable<I> inputs, int maxConcurrency) {
+        Objects.requireNonNull(inputs, "Inputs should not be null!");
+        DecoratorChain chain = getDecorators();
+        return inputs.concatMapEager(input -> createBulkItem(chain, input),
+                maxConcurrency, Flowable.bufferSize());
+    }
+
+    /**
+     * Create use-case flowable executing the use-case for each of the passed inputs.
+     * See {@link #createAllUnordered(Flowable, int)} for reference.
+     *
+     * @param inputs         Use-case inputs
+     * @param maxConcurrency Maximum number of executions running at the same time
+     * @return Flowable stream
+     */
+    public final Flowable<Response<O>> createAllUnordered(Iterable<I> inputs,
+                                                          int maxConcurrency) {
+        Objects.requireNonNull(inputs, "Inputs should not be null!");
+        return createAllUnordered(Flowable.fromIterable(inputs), maxConcurrency);
+    }
+
+    /**
+     * Create use-case flowable executing the use-case for each of the passed inputs,
+     * emitting the {@link Response}s of all the executions as soon as they are available.
+     * Unlike {@link #createAll(Flowable, int)} it does not buffer responses
+     * to keep the order of the inputs.
+     *
+     * @param inputs         Use-case inputs
+     * @param maxConcurrency Maximum number of executions running at the same time
+     * @return Flowable stream
+     */
+    public final Flowable<Response<O>> createAllUnordered(Flowable<I> inputs,
+                                                          int maxConcurrency) {
+        Objects.requireNonNull(inputs, "Inputs should not be null!");
+        DecoratorChain chain = getDecorators();
+        return inputs.flatMap(input -> createBulkItem(chain, input), maxConcurrency);
+    }
+
+    private Flowable<Response<O>> createBulkItem(DecoratorChain chain, I input) {
+        return createFlowable(chain, wrapRequest(input), BULK_BACKPRESSURE);
+    }
+
+    /**
+     * Create use-case single without passing any input.
+     * This effectively will invoke {@link #createSingle(Object)} passing null as input.
+     *
+     * @return Single stream
+     */
+    public final Single<Response<O>> createSingle() {
+        return createSingle((I) null);
+    }
+
+    /**
+     * Create use-case single with input.
+     * The passed input will be wrapped into a {@link Request} object
+     * and passed to the {@link #createSingle(Request)} method.
+     *
+     * @param input Use-case input
+     * @return Single stream
+     */
+    public final Single<Response<O>> createSingle(I input) {
+        return createSingle(wrapRequest(input));
+    }
+
+    /**
+     * Create use-case single passing a {@link Request} parameter.
+     * This is the one-shot variant of {@link #create(Request)}, emitting only
+     * the first {@link Response} of the use-case. Useful for use-cases
+     * responding once, ex. {@link Synchronous} and {@link Asynchronous} operations,
+     * as the {@link Single} operators are lighter than the {@link Observable} ones.
+     * <p>
+     * See {@link SingleDecorator} for reference.
+     *
+     * @param request Use-case request
+     * @return Single stream
+     */
+    public final Single<Response<O>> createSingle(Request<I> request) {
+        Request<I> prepared = prepare(request);
+        Deadline deadline = prepared.getDeadline();
+        if (deadline == null) {
+            return getDecorators().decorate(executeSingleSafely(prepared.getInput()), prepared);
+        }
+        Deadline previous = deadline.attach();
+        try {
+            Single<Response<O>> stream = deadline.propagate(
+                    executeSingleSafely(prepared.getInput()));
+            return deadline.enforce(getDecorators().decorate(stream, prepared));
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+
+    /**
+     * Create use-case completable without passing any input.
+     * This effectively will invoke {@link #createCompletable(Object)} passing null as input.
+     *
+     * @return Completable stream
+     */
+    public final Completable createCompletable() {
+        return createCompletable((I) null);
+    }
+
+    /**
+     * Create use-case completable with input.
+     * The passed input will be wrapped into a {@link Request} object
+     * and passed to the {@link #createCompletable(Request)} method.
+     *
+     * @param input Use-case input
+     * @return Completable stream
+     */
+    public final Completable createCompletable(I input) {
+        return createCompletable(wrapRequest(input));
+    }
+
+    /**
+     * Create use-case completable passing a {@link Request} parameter.
+     * It completes when the first {@link Response} of {@link #createSingle(Request)}
+     * is successful, ignoring its data, or signals a {@link FailureException}
+     * wrapping the {@link Failure} otherwise.
+     * Useful for use-cases which do not output anything, ex. with {@link Void} output.
+     *
+     * @param request Use-case request
+     * @return Completable stream
+     */
+    public final Completable createCompletable(Request<I> request) {
+        return createSingle(request).flatMapCompletable(response -> {
+            if (response.isSuccessful()) {
+                return Completable.complete();
+            }
+            return Completable.error(FailureException.stackless(response.getFailure()));
+        });
     }
 
     /**
@@ -124,11 +373,23 @@ public abstract class RxUseCase<I, O> {
      * is required to be retrieved in a blocking manner.
      * The method will block until the first item is emitted by {@link #create(Request)},
      * return it. See {@link Observable#blockingFirst()} for reference.
+     * <p>
+     * Synchronous use-cases (see {@link #asImmediate()}) whose decorators are all
+     * {@link InlineDecorator}s are invoked directly on the calling thread instead,
+     * without creating the observable stream. Like the stream, they respond with
+     * the {@link Deadline#EXCEEDED} failure if the request deadline passes meanwhile.
      *
      * @param request Use-case request
      * @return Observable stream
      */
     public final Response<O> get(Request<I> request) {
+        Immediate<I, O> immediate = asImmediate();
+        if (immediate != null) {
+            DecoratorChain chain = getDecorators();
+            if (chain.isInline()) {
+                return invoke(chain, immediate, prepare(request));
+            }
+        }
         return create(request).blockingFirst();
     }
 
@@ -143,6 +404,55 @@ public abstract class RxUseCase<I, O> {
      */
     protected abstract Observable<Response<O>> execute(I input);
 
+    /**
+     * Create use-case single with input.
+     * This method will get called by invoking any of the
+     * {@link #createSingle(Request)} methods.
+     * By default it invokes the operation returned by {@link #asImmediate()}
+     * if there is one, otherwise it takes the first item of the stream returned by
+     * {@link #execute(Object)}. Override it when the use-case can
+     * produce a {@link Single} stream directly.
+     *
+     * @param input Use-case input
+     * @return Single stream
+     */
+    protected Single<Response<O>> executeSingle(I input) {
+        Immediate<I, O> immediate = asImmediate();
+        if (immediate != null) {
+            return toSingle(immediate, input);
+        }
+        return executeSafely(input).firstOrError();
+    }
+
+    /**
+     * Get the operation responding directly with the single {@link Response}
+     * emitted by the stream returned from {@link #execute(Object)}, if this use-case
+     * is synchronous. It is used by {@link #get(Request)} to skip creating the stream.
+     * Override it only if the stream emits that response on subscription, on the
+     * subscribing thread, and completes.
+     *
+     * @return Equivalent immediate operation or null if there is none
+     */
+    protected Immediate<I, O> asImmediate() {
+        return null;
+    }
+
+    /**
+     * Create use-case flowable with input.
+     * This method will get called by invoking any of the
+     * {@link #createFlowable(Request, Backpressure)} methods.
+     * By default it applies the backpressure to the stream returned by
+     * {@link #execute(Object)}. Override it when the use-case can
+     * produce a {@link Flowable} stream directly.
+     *
+     * @param input        Use-case input
+     * @param backpressure Backpressure of the stream
+     * @return Flowable stream
+     */
+    protected Flowable<Response<O>> executeFlowable(I input, Backpressure backpressure) {
+        return backpressure.apply(executeSafely(input));
+    }
+
     /**
      * Emit the passed object wrapped into a {@link Response}.
      * Utility method that builds and returns an {@link Observable}
@@ -169,6 +479,20 @@ public abstract class RxUseCase<I, O> {
         return just(Response.fail(code, message));
     }
 
+    /**
+     * Emit the passed failure wrapped into a {@link Response}.
+     * Utility method that builds and returns an {@link Observable}
+     * that emits a failure {@link Response} wrapping the passed failure.
+     * Prefer it for failures defined as constants, as their responses
+     * are created only once, see {@link Response#fail(Failure)}.
+     *
+     * @param failure Failure
+     * @return Observable stream
+     */
+    protected Observable<Response<O>> justFail(Failure failure) {
+        return just(Response.fail(failure));
+    }
+
     /**
      * Set the originator of the use-case
      *
@@ -201,7 +525,7 @@ public abstract class RxUseCase<I, O> {
     @SuppressWarnings("unchecked")
     public final <T extends RxUseCase<I, O>> T decorateWith(Collection<UseCaseDecorator> decorators) {
         Objects.requireNonNull(decorators, "Decorators should not be null!");
-        createDecorators().addAll(decorators);
+        this.decorators = createDecorators().plus(decorators);
         return (T) this;
     }
 
@@ -219,7 +543,7 @@ public abstract class RxUseCase<I, O> {
     @SuppressWarnings("unchecked")
     public final <T extends RxUseCase<I, O>> T decorateWith(UseCaseDecorator decorator) {
         Objects.requireNonNull(decorator, "Decorator should not be null!");
-        createDecorators().add(decorator);
+        decorators = createDecorators().plus(decorator);
         return (T) this;
     }
 
@@ -232,27 +556,45 @@ public abstract class RxUseCase<I, O> {
      */
     @SuppressWarnings("unchecked")
     public final <T extends RxUseCase<I, O>> T decorateWithNothing() {
-        createDecorators(true);
+        decorators = DecoratorChain.withDefaults();
         return (T) this;
     }
 
-    private Collection<UseCaseDecorator> getDecorators() {
+    private DecoratorChain getDecorators() {
         if (decorators != null) {
             return decorators;
         }
-        return GLOBAL_DECORATORS;
+        return GLOBAL_DECORATORS.get();
+    }
+
+    private DecoratorChain createDecorators() {
+        if (decorators == null) {
+            return DecoratorChain.withDefaults();
+        }
+        return decorators;
     }
 
-    private Collection<UseCaseDecorator> createDecorators() {
-        return createDecorators(false);
+    /**
+     * Invoke {@link #execute(Object)}, deferring the signalling of
+     * a null stream to the moment of subscription, as decorators are
+     * applied eagerly on the returned stream.
+     */
+    private Observable<Response<O>> executeSafely(I input) {
+        Observable<Response<O>> stream = execute(input);
+        if (stream == null) {
+            return Observable.error(new NullPointerException(
+                    "Use-case " + getOrigin() + " returned a null observable!"));
+        }
+        return stream;
     }
 
-    private Collection<UseCaseDecorator> createDecorators(boolean forceNewInstance) {
-        if (decorators == null || forceNewInstance) {
-            decorators = new ArrayList<>();
-            addDefaultDecoratorsInto(decorators);
+    private Single<Response<O>> executeSingleSafely(I input) {
+        Single<Response<O>> stream = executeSingle(input);
+        if (stream == null) {
+            return Single.error(new NullPointerException(
+                    "Use-case " + getOrigin() + " returned a null single!"));
         }
-        return decorators;
+        return stream;
     }
 
     private String getOrigin() {
@@ -266,15 +608,40 @@ public abstract class RxUseCase<I, O> {
         return Request.newBuilder(input).build();
     }
 
-    private static <I> Request<I> withOrigin(Request<I> request, String origin) {
+    /**
+     * Set the origin of the request and, if it does not have a deadline,
+     * the one of the use-case being executed on the calling thread.
+     */
+    private Request<I> prepare(Request<I> request) {
         if (request.getOrigin() == null) {
-            request.origin(origin);
+            request.origin(getOrigin());
+        }
+        if (request.getDeadline() == null) {
+            Deadline current = Deadline.current();
+            if (current != null) {
+                return request.withDeadline(current);
+            }
         }
         return request;
     }
 
-    private static void addDefaultDecoratorsInto(Collection<UseCaseDecorator> decorators) {
-        decorators.add(FailureConverter.getDefault());
+    private static <I, O> Response<O> invoke(DecoratorChain chain, Immediate<I, O> immediate,
+                                             Request<I> request) {
+        Deadline deadline = request.getDeadline();
+        if (deadline == null) {
+            return chain.invoke(immediate, request);
+        }
+        if (deadline.isExpired()) {
+            return Response.fail(Deadline.EXCEEDED);
+        }
+        Deadline previous = deadline.attach();
+        Response<O> response;
+        try {
+            response = chain.invoke(immediate, request);
+        } finally {
+            Deadline.restore(previous);
+        }
+        return deadline.isExpired() ? Response.<O>fail(Deadline.EXCEEDED) : response;
     }
 
     /**
@@ -283,12 +650,19 @@ public abstract class RxUseCase<I, O> {
      * will be decorated by this item, unless they define local {@link UseCaseDecorator}
      * or clear the decoration mechanism, see {@link #decorateWith(Collection)},
      * {@link #decorateWith(UseCaseDecorator)} and {@link #decorateWithNothing()} for this.
+     * <p>
+     * Global decorators can be safely changed at any time from any thread. The change
+     * applies to the use-case observables created afterwards, already created ones
+     * keep their decoration.
      *
      * @param decorator Global decorator
      */
     public static void addDecorator(UseCaseDecorator decorator) {
         Objects.requireNonNull(decorator, "Decorator should not be null!");
-        GLOBAL_DECORATORS.add(decorator);
+        DecoratorChain current;
+        do {
+            current = GLOBAL_DECORATORS.get();
+        } while (!GLOBAL_DECORATORS.compareAndSet(current, current.plus(decorator)));
     }
 
     /**
@@ -298,7 +672,34 @@ public abstract class RxUseCase<I, O> {
      */
     public static void removeDecorator(UseCaseDecorator decorator) {
         Objects.requireNonNull(decorator, "Decorator should not be null!");
-        GLOBAL_DECORATORS.remove(decorator);
+        DecoratorChain current;
+        DecoratorChain updated;
+        do {
+            current = GLOBAL_DECORATORS.get();
+            updated = current.minus(decorator);
+        } while (updated != current && !GLOBAL_DECORATORS.compareAndSet(current, updated));
+    }
+
+    /**
+     * Atomically replace a global decorator of use-cases with another one,
+     * keeping its position in the decoration chain.
+     * Useful for reconfiguring decorators (ex. enabling logging) at runtime,
+     * as no use-case observable will ever be decorated with both or with none of them.
+     * If the decorator to replace is not registered, nothing will change.
+     *
+     * @param decorator   Global decorator to replace
+     * @param replacement Replacement decorator
+     */
+    public static void replaceDecorator(UseCaseDecorator decorator,
+                                        UseCaseDecorator replacement) {
+        Objects.requireNonNull(decorator, "Decorator should not be null!");
+        Objects.requireNonNull(replacement, "Decorator should not be null!");
+        DecoratorChain current;
+        DecoratorChain updated;
+        do {
+            current = GLOBAL_DECORATORS.get();
+            updated = current.replace(decorator, replacement);
+        } while (updated != current && !GLOBAL_DECORATORS.compareAndSet(current, updated));
     }
 
     /**
@@ -314,7 +715,23 @@ public abstract class RxUseCase<I, O> {
      * @return Rx use-case
      */
     public static <I, O> RxUseCase<I, O> fromSynchronous(Synchronous<I, O> operation) {
-        return fromSource(input -> toRx(operation, input));
+        return new DelegateUseCase<>(input -> toRx(operation, input), toImmediate(operation));
+    }
+
+    /**
+     * Create a use-case from an {@link Immediate} operation.
+     * This method will wrap the logic / action / mechanism defined
+     * in the operation into an instance of {@link RxUseCase}.
+     * <p>
+     * See {@link Immediate} for reference.
+     *
+     * @param operation Use-case operation
+     * @param <I>       Input type
+     * @param <O>       Output type
+     * @return Rx use-case
+     */
+    public static <I, O> RxUseCase<I, O> fromImmediate(Immediate<I, O> operation) {
+        return new DelegateUseCase<>(input -> toRxImmediate(operation, input), operation);
     }
 
     /**
@@ -378,8 +795,42 @@ public abstract class RxUseCase<I, O> {
      */
     protected static <I, O> Observable<Response<O>> toRx(Synchronous<I, O> operation,
                                                          I input) {
-        return fromCallable(() -> operation.act(input))
-                .map(Response::succeed);
+        return fromCallable(() -> Response.succeed(operation.act(input)));
+    }
+
+    /**
+     * Transform a {@link Synchronous} operation into an {@link Immediate} one,
+     * responding with the {@link Failure} of the thrown {@link FailureException}s,
+     * as the default {@link digital.bakehouse.rxusecase.decorator.FailureConverter}
+     * does for the {@link Observable} of the operation.
+     *
+     * @param operation Use-case operation
+     * @param <I>       Input type
+     * @param <O>       Output type
+     * @return Immediate operation
+     */
+    protected static <I, O> Immediate<I, O> toImmediate(Synchronous<I, O> operation) {
+        return input -> {
+            try {
+                return Response.succeed(operation.act(input));
+            } catch (FailureException exception) {
+                return Response.fail(exception.getFailure());
+            }
+        };
+    }
+
+    /**
+     * Transform an {@link Immediate} operation into an {@link Observable}.
+     *
+     * @param operation Use-case operation
+     * @param input     Operation input
+     * @param <I>       Input type
+     * @param <O>       Output type
+     * @return Observable stream
+     */
+    protected static <I, O> Observable<Response<O>> toRxImmediate(Immediate<I, O> operation,
+                                                                  I input) {
+        return fromCallable(() -> operation.act(input));
     }
 
     /**
@@ -409,6 +860,45 @@ public abstract class RxUseCase<I, O> {
                 }));
     }
 
+    /**
+     * Transform an {@link Immediate} operation into a {@link Single}.
+     *
+     * @param operation Use-case operation
+     * @param input     Operation input
+     * @param <I>       Input type
+     * @param <O>       Output type
+     * @return Single stream
+     */
+    protected static <I, O> Single<Response<O>> toSingle(Immediate<I, O> operation,
+                                                         I input) {
+        return Single.fromCallable(() -> operation.act(input));
+    }
+
+    /**
+     * Transform a {@link Asynchronous} operation into a {@link Single}.
+     *
+     * @param operation Use-case operation
+     * @param input     Operation input
+     * @param <I>       Input type
+     * @param <O>       Output type
+     * @return Single stream
+     */
+    protected static <I, O> Single<Response<O>> toSingle(Asynchronous<I, O> operation,
+                                                         I input) {
+        return Single.create(emitter ->
+                operation.act(input, new Asynchronous.Callback<O>() {
+                    @Override
+                    public void succeed(O output) {
+                        emitter.onSuccess(Response.succeed(output));
+                    }
+
+                    @Override
+                    public void fail(Failure failure) {
+                        emitter.onSuccess(Response.fail(failure));
+                    }
+                }));
+    }
+
     /**
      * Transform a {@link Continuous} operation into an {@link Observable}.
      *
@@ -441,6 +931,41 @@ public abstract class RxUseCase<I, O> {
                 .doOnDispose(() -> operation.cancel(input));
     }
 
+    /**
+     * Transform a {@link Continuous} operation into a {@link Flowable},
+     * applying the passed backpressure to its notifications.
+     *
+     * @param operation    Use-case operation
+     * @param input        Operation input
+     * @param backpressure Backpressure of the stream
+     * @param <I>          Input type
+     * @param <O>          Output type
+     * @return Flowable stream
+     */
+    protected static <I, O> Flowable<Response<O>> toFlowable(Continuous<I, O> operation,
+                                                             I input,
+                                                             Backpressure backpressure) {
+        return backpressure.create((FlowableEmitter<Response<O>> emitter) ->
+                operation.act(input, new Continuous.Notifier<O>() {
+                    @Override
+                    public void notify(O output) {
+                        emitter.onNext(Response.succeed(output));
+                    }
+
+                    @Override
+                    public void complete() {
+                        emitter.onComplete();
+                    }
+
+                    @Override
+                    public void complete(Failure failure) {
+                        emitter.onNext(Response.fail(failure));
+                        emitter.onComplete();
+                    }
+                }))
+                .doOnCancel(() -> operation.cancel(input));
+    }
+
     /**
      * Create an {@link Observable} using a {@link SafeEmitter}.
      * This will allow invocations of {@link ObservableEmitter#onNext(Object)},
@@ -458,16 +983,4 @@ public abstract class RxUseCase<I, O> {
         return Observable.create(emitter ->
                 subscriber.subscribe(new SafeEmitter<>(emitter)));
     }
-
-    private static <I, O> Observable<Response<O>> decorate(Observable<Response<O>> stream,
-                                                           Request<I> request,
-                                                           Collection<UseCaseDecorator> decorators) {
-        return defer(() -> {
-            Observable<Response<O>> result = stream;
-            for (UseCaseDecorator decorator : decorators) {
-                result = decorator.decorate(result, request);
-            }
-            return result;
-        });
-    }
 }
@@ -0,0 +1,295 @@
+package digital.bakehouse.rxusecase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+
+/**
+ * Use-case running a set of independent, possibly heterogeneous, use-cases
+ * in parallel and collecting their {@link Response}s into typed {@link Results}.
+ * Each use-case is added with its input through {@link Builder#add(RxUseCase, Object)},
+ * which returns the {@link Member} its output is retrieved by:
+ * <pre>
+ * UseCaseGroup.Builder builder = UseCaseGroup.newBuilder().maxConcurrency(4);
+ * UseCaseGroup.Member&lt;User&gt; user = builder.add(getUser, userId);
+ * UseCaseGroup.Member&lt;List&lt;Order&gt;&gt; orders = builder.add(getOrders, userId);
+ * Response&lt;UseCaseGroup.Results&gt; response = builder.build().get();
+ * User output = response.getData().get(user);
+ * </pre>
+ * The group responds successfully only if all the use-cases do. Otherwise it fails
+ * with a {@link Failure} having the {@link #FAILURE_CODE} code and the failures of the
+ * use-cases as children: only the first one when failing fast (the default),
+ * or all of them when collecting failures, see {@link Builder#collectFailures()}.
+ * Exceptions emitted by any of the use-cases terminate the group with the exception.
+ * <p>
+ * The use-cases are run through {@link RxUseCase#createSingle(Request)}, so only
+ * their first response is taken into account. They run concurrently only if
+ * they are asynchronous, or if a {@link Builder#scheduler(Scheduler)} is set.
+ * The group itself is a use-case, so it is decorated like any other.
+ */
+public final class UseCaseGroup extends RxUseCase<Void, UseCaseGroup.Results> {
+
+    /**
+     * Code of the failure returned when use-cases of the group fail.
+     */
+    public static final String FAILURE_CODE = "USE_CASE_GROUP_FAILURE";
+
+    private final Object owner;
+    private final Member<?>[] members;
+    private final int maxConcurrency;
+    private final boolean failFast;
+    private final Scheduler scheduler;
+
+    private UseCaseGroup(Builder builder) {
+        owner = builder;
+        members = builder.members.toArray(new Member<?>[0]);
+        maxConcurrency = builder.maxConcurrency;
+        failFast = builder.failFast;
+        scheduler = builder.scheduler;
+    }
+
+    /**
+     * Create a new {@link Builder} instance for configuring
+     * the {@link UseCaseGroup}.
+     *
+     * @return Builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    protected Observable<Response<Results>> execute(Void ignored) {
+        return executeSingle(ignored).toObservable();
+    }
+
+    @Override
+    protected Single<Response<Results>> executeSingle(Void ignored) {
+        return Single.defer(() -> {
+            Response<?>[] responses = new Response<?>[members.length];
+            AtomicReference<Response<?>> firstFailure = new AtomicReference<>();
+            Flowable<Response<?>> stream = Flowable.fromArray(members)
+                    .flatMapSingle(member -> member.execute(responses, scheduler),
+                            false, maxConcurrency);
+            if (failFast) {
+                stream = stream.takeUntil(response -> !response.isSuccessful()
+                        && firstFailure.compareAndSet(null, response));
+            }
+            return stream.ignoreElements()
+                    .toSingle(() -> respond(responses, firstFailure.get()));
+        });
+    }
+
+    /**
+     * Respond with the results of the group, or with the failure which stopped it
+     * when failing fast, since other use-cases may have failed only because they
+     * were disposed, or with all the failures when collecting them.
+     */
+    private Response<Results> respond(Response<?>[] responses, Response<?> firstFailure) {
+        List<Failure> failures = null;
+        if (firstFailure != null) {
+            failures = Collections.singletonList(firstFailure.getFailure());
+        } else {
+            for (Response<?> response : responses) {
+                if (response != null && !response.isSuccessful()) {
+                    if (failures == null) {
+                        failures = new ArrayList<>();
+                    }
+                    failures.add(response.getFailure());
+                }
+            }
+        }
+        if (failures == null) {
+            return Response.succeed(new Results(owner, responses));
+        }
+        return Response.fail(new Failure(FAILURE_CODE,
+                failures.size() + " of " + responses.length + " use-cases failed",
+                failures));
+    }
+
+    /**
+     * Handle of a use-case added to a group, used to retrieve
+     * its output from the {@link Results} of the group.
+     *
+     * @param <O> Output type
+     */
+    public static final class Member<O> {
+        private final Object owner;
+        private final int index;
+        private final Callable<Single<Response<O>>> source;
+
+        private Member(Object owner, int index, Callable<Single<Response<O>>> source) {
+            this.owner = owner;
+            this.index = index;
+            this.source = source;
+        }
+
+        private Single<Response<O>> execute(Response<?>[] responses, Scheduler scheduler)
+                throws Exception {
+            Single<Response<O>> result = source.call();
+            if (scheduler != null) {
+                result = result.subscribeOn(scheduler);
+            }
+            return result.doOnSuccess(response -> responses[index] = response);
+        }
+    }
+
+    /**
+     * Outputs of the use-cases of a group.
+     */
+    public static final class Results {
+        private final Object owner;
+        private final Response<?>[] responses;
+
+        private Results(Object owner, Response<?>[] responses) {
+            this.owner = owner;
+            this.responses = responses;
+        }
+
+        /**
+         * Get the output of the passed member of the group.
+         *
+         * @param member Group member
+         * @param <O>    Output type
+         * @return Use-case output
+         */
+        public <O> O get(Member<O> member) {
+            return getResponse(member).getData();
+        }
+
+        /**
+         * Get the response of the passed member of the group.
+         *
+         * @param member Group member
+         * @param <O>    Output type
+         * @return Use-case response
+         * @throws IllegalArgumentException if the member was added to another group
+         */
+        @SuppressWarnings("unchecked")
+        public <O> Response<O> getResponse(Member<O> member) {
+            if (member.owner != owner || member.index >= responses.length) {
+                throw new IllegalArgumentException("Member is not part of this group!");
+            }
+            return (Response<O>) responses[member.index];
+        }
+
+        public int size() {
+            return responses.length;
+        }
+    }
+
+    /**
+     * Builder pattern for creating and configuring {@link UseCaseGroup} objects.
+     */
+    public static class Builder {
+        private final List<Member<?>> members = new ArrayList<>();
+        private int maxConcurrency = Integer.MAX_VALUE;
+        private boolean failFast = true;
+        private Scheduler scheduler;
+
+        Builder() {
+        }
+
+        /**
+         * Add a use-case to the group.
+         *
+         * @param useCase Use-case to run
+         * @param input   Use-case input
+         * @param <I>     Input type
+         * @param <O>     Output type
+         * @return Member the output of the use-case is retrieved by
+         */
+        public <I, O> Member<O> add(RxUseCase<I, O> useCase, I input) {
+            Objects.requireNonNull(useCase, "Use-case should not be null!");
+            return add(() -> useCase.createSingle(input));
+        }
+
+        /**
+         * Add a use-case to the group.
+         *
+         * @param useCase Use-case to run
+         * @param request Use-case request
+         * @param <I>     Input type
+         * @param <O>     Output type
+         * @return Member the output of the use-case is retrieved by
+         */
+        public <I, O> Member<O> add(RxUseCase<I, O> useCase, Request<I> request) {
+            Objects.requireNonNull(useCase, "Use-case should not be null!");
+            Objects.requireNonNull(request, "Request should not be null!");
+            return add(() -> useCase.createSingle(request));
+        }
+
+        private <O> Member<O> add(Callable<Single<Response<O>>> source) {
+            Member<O> member = new Member<>(this, members.size(), source);
+            members.add(member);
+            return member;
+        }
+
+        /**
+         * Set the maximum number of use-cases running at the same time.
+         * By default it is not limited.
+         *
+         * @param maxConcurrency Maximum concurrency
+         * @return This builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("Maximum concurrency should be positive!");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Respond with the first failure, disposing the use-cases still running.
+         * This is the default behaviour.
+         *
+         * @return This builder
+         */
+        public Builder failFast() {
+            this.failFast = true;
+            return this;
+        }
+
+        /**
+         * Run all the use-cases, regardless of their failures,
+         * and respond with all of them.
+         *
+         * @return This builder
+         */
+        public Builder collectFailures() {
+            this.failFast = false;
+            return this;
+        }
+
+        /**
+         * Set the scheduler each use-case is subscribed on.
+         * Useful for running synchronous use-cases in parallel.
+         *
+         * @param scheduler Use-case scheduler
+         * @return This builder
+         */
+        public Builder scheduler(Scheduler scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler, "Scheduler should not be null!");
+            return this;
+        }
+
+        /**
+         * Build the {@link UseCaseGroup} configured with data
+         * passed in the builder methods.
+         *
+         * @return Configured {@link UseCaseGroup} object
+         */
+        public UseCaseGroup build() {
+            return new UseCaseGroup(this);
+        }
+    }
+}
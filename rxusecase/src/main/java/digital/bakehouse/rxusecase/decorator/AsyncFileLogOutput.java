@@ -0,0 +1,300 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import digital.bakehouse.rxusecase.toolbox.RingBuffer;
+
+/**
+ * {@link LogDecorator.LogOutput} appending the messages to a file asynchronously.
+ * Logging only enqueues the message into a bounded lock-free {@link RingBuffer},
+ * a single background thread drains it and writes the messages in batches,
+ * through gathering writes on a {@link FileChannel}.
+ * When the buffer is full, messages are either dropped or the logging thread
+ * waits for room, depending on the configured {@link Overflow} policy.
+ * <p>
+ * The output should be closed when not needed anymore, to write the pending
+ * messages and release the file.
+ */
+public final class AsyncFileLogOutput implements LogDecorator.LogOutput, Closeable {
+
+    private static final long IDLE_PARK_NANOS = 100_000_000L;
+    private static final long FULL_PARK_NANOS = 50_000L;
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator", "\n");
+
+    private final RingBuffer<String> buffer;
+    private final Overflow overflow;
+    private final int batchSize;
+    private final Charset charset;
+    private final FileChannel channel;
+    private final Thread writer;
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile long writtenCount;
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    private AsyncFileLogOutput(Builder builder) throws IOException {
+        buffer = new RingBuffer<>(builder.capacity);
+        overflow = builder.overflow;
+        batchSize = builder.batchSize;
+        charset = builder.charset;
+        channel = new FileOutputStream(builder.file, builder.append).getChannel();
+        writer = new Thread(this::drain, "RxUseCase-LogWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void log(String message) {
+        if (message == null || closed) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        while (!buffer.offer(message)) {
+            if (overflow == Overflow.DROP || closed) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        acceptedCount.incrementAndGet();
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drain() {
+        ByteBuffer[] batch = new ByteBuffer[batchSize];
+        while (true) {
+            int count = 0;
+            String message;
+            while (count < batchSize && (message = buffer.poll()) != null) {
+                batch[count++] = ByteBuffer.wrap((message + LINE_SEPARATOR).getBytes(charset));
+            }
+
+            if (count > 0) {
+                write(batch, count);
+            } else if (closed) {
+                return;
+            } else {
+                idle = true;
+                if (buffer.isEmpty() && !closed) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    private void write(ByteBuffer[] batch, int count) {
+        try {
+            while (batch[count - 1].hasRemaining()) {
+                channel.write(batch, 0, count);
+            }
+            writtenCount += count;
+        } catch (IOException exception) {
+            droppedCount.addAndGet(count);
+        }
+        for (int i = 0; i < count; i++) {
+            batch[i] = null;
+        }
+    }
+
+    /**
+     * Wait until all the messages logged so far are written to the file.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void flush() throws InterruptedException {
+        long target = acceptedCount.get();
+        while (writtenCount + droppedCount.get() < target && writer.isAlive()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Write the pending messages and close the file.
+     * Messages logged afterwards are dropped.
+     *
+     * @throws IOException if closing the file fails
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        while (buffer.poll() != null) {
+            droppedCount.incrementAndGet();
+        }
+        channel.close();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the number of messages which were not written, because the
+     * buffer was full, the output was closed or writing to the file failed.
+     *
+     * @return Dropped message count
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * Get the number of messages waiting to be written.
+     *
+     * @return Pending message count
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Create a new {@link Builder} instance for configuring
+     * the {@link AsyncFileLogOutput}.
+     *
+     * @param file File to append the messages to
+     * @return Builder instance
+     */
+    public static Builder newBuilder(File file) {
+        return new Builder(Objects.requireNonNull(file, "File should not be null!"));
+    }
+
+    /**
+     * Policy applied when logging a message while the buffer is full.
+     */
+    public enum Overflow {
+        /**
+         * Drop the message and count it, see {@link #getDroppedCount()}.
+         */
+        DROP,
+        /**
+         * Wait until there is room for the message in the buffer.
+         */
+        BLOCK
+    }
+
+    /**
+     * Builder pattern for creating and configuring {@link AsyncFileLogOutput} objects.
+     */
+    public static class Builder {
+        private static final int DEFAULT_CAPACITY = 8192;
+        private static final int DEFAULT_BATCH_SIZE = 256;
+
+        private final File file;
+        private int capacity = DEFAULT_CAPACITY;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private Overflow overflow = Overflow.DROP;
+        private Charset charset = StandardCharsets.UTF_8;
+        private boolean append = true;
+
+        Builder(File file) {
+            this.file = file;
+        }
+
+        /**
+         * Set the number of messages the buffer can hold,
+         * rounded up to a power of two.
+         *
+         * @param capacity Buffer capacity
+         * @return This builder
+         */
+        public Builder capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity should be positive!");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of messages written at once.
+         *
+         * @param batchSize Batch size
+         * @return This builder
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size should be positive!");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Set the policy applied when the buffer is full.
+         * By default messages are dropped.
+         *
+         * @param overflow Overflow policy
+         * @return This builder
+         */
+        public Builder overflow(Overflow overflow) {
+            this.overflow = Objects.requireNonNull(overflow, "Overflow should not be null!");
+            return this;
+        }
+
+        /**
+         * Set the charset the messages are encoded with. By default UTF-8.
+         *
+         * @param charset Message charset
+         * @return This builder
+         */
+        public Builder charset(Charset charset) {
+            this.charset = Objects.requireNonNull(charset, "Charset should not be null!");
+            return this;
+        }
+
+        /**
+         * Set whether the messages are appended to the existing file content,
+         * or the file is truncated. By default they are appended.
+         *
+         * @param append True to append
+         * @return This builder
+         */
+        public Builder append(boolean append) {
+            this.append = append;
+            return this;
+        }
+
+        /**
+         * Open the file and start the writing thread of the
+         * {@link AsyncFileLogOutput} configured with data
+         * passed in the builder methods.
+         *
+         * @return Configured {@link AsyncFileLogOutput} object
+         * @throws IOException if the file cannot be opened
+         */
+        public AsyncFileLogOutput build() throws IOException {
+            return new AsyncFileLogOutput(this);
+        }
+    }
+}
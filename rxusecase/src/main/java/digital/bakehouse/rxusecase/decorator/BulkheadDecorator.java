@@ -0,0 +1,340 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.CompletableSubject;
+
+/**
+ * Decorator limiting the number of concurrent executions of use-cases,
+ * separately for each {@link Request#getOrigin()}, so that a slow dependency
+ * of some use-cases cannot exhaust the resources shared with the others.
+ * <p>
+ * An execution starts when subscribed to, if its origin has less running executions
+ * than the configured limit. Otherwise it waits in a bounded queue, and starts on the
+ * thread of an execution finishing before it, which starts the waiting executions in a loop
+ * rather than recursively. When the queue is full as well, it is rejected by emitting
+ * the {@link #REJECTION} failure response.
+ * <p>
+ * In thread isolation mode, see {@link Builder#threadIsolation()}, each origin additionally
+ * runs its executions on its own pool, having as many threads as the concurrency limit.
+ * The pools should be released with {@link #shutdown()} when not needed anymore.
+ */
+public final class BulkheadDecorator implements UseCaseDecorator {
+
+    /**
+     * Code of the failure emitted by rejected executions.
+     */
+    public static final String REJECTION_CODE = "BULKHEAD_REJECTED";
+
+    /**
+     * Failure emitted by rejected executions.
+     */
+    public static final Failure REJECTION = new Failure(REJECTION_CODE,
+            "Too many concurrent executions!");
+
+    private static final String UNDEFINED = "";
+
+    private final int maxConcurrent;
+    private final Map<String, Integer> originMaxConcurrent;
+    private final int maxWaiting;
+    private final boolean threadIsolation;
+    private final ConcurrentMap<String, Compartment> compartments = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private BulkheadDecorator(Builder builder) {
+        maxConcurrent = builder.maxConcurrent;
+        originMaxConcurrent = new HashMap<>(builder.originMaxConcurrent);
+        maxWaiting = builder.maxWaiting;
+        threadIsolation = builder.threadIsolation;
+    }
+
+    /**
+     * Create a new {@link Builder} instance for configuring
+     * the {@link BulkheadDecorator}.
+     *
+     * @return Builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                         Request<I> request) {
+        Compartment compartment = getCompartment(request.getOrigin());
+        Observable<Response<O>> isolated = compartment.scheduler != null
+                ? origin.subscribeOn(compartment.scheduler)
+                : origin;
+        return Observable.defer(() -> {
+            Ticket ticket = new Ticket();
+            if (!compartment.admit(ticket)) {
+                rejectedCount.incrementAndGet();
+                return Observable.just(Response.<O>fail(REJECTION));
+            }
+            Observable<Response<O>> stream = isolated;
+            if (ticket.queued != null) {
+                stream = ticket.queued.andThen(stream);
+            }
+            return stream.doFinally(() -> compartment.finish(ticket));
+        });
+    }
+
+    private Compartment getCompartment(String origin) {
+        String key = origin != null ? origin : UNDEFINED;
+        Compartment result = compartments.get(key);
+        if (result == null) {
+            Integer limit = originMaxConcurrent.get(key);
+            Compartment created = new Compartment(key, limit != null ? limit : maxConcurrent);
+            result = compartments.putIfAbsent(key, created);
+            if (result == null) {
+                result = created;
+            } else {
+                created.shutdown();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of executions of the passed origin which are running.
+     *
+     * @param origin Use-case origin
+     * @return Running execution count
+     */
+    public int getRunningCount(String origin) {
+        Compartment compartment = compartments.get(origin != null ? origin : UNDEFINED);
+        return compartment != null ? compartment.getRunning() : 0;
+    }
+
+    /**
+     * Get the number of executions of the passed origin waiting to start.
+     *
+     * @param origin Use-case origin
+     * @return Waiting execution count
+     */
+    public int getWaitingCount(String origin) {
+        Compartment compartment = compartments.get(origin != null ? origin : UNDEFINED);
+        return compartment != null ? compartment.getWaiting() : 0;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Shut down the thread pools of the origins, in thread isolation mode.
+     * Executions subscribed to afterwards will not run.
+     */
+    public void shutdown() {
+        for (Compartment compartment : compartments.values()) {
+            compartment.shutdown();
+        }
+    }
+
+    private static final class Ticket {
+        private CompletableSubject queued;
+        private boolean running;
+    }
+
+    private final class Compartment {
+        private final int limit;
+        private final ExecutorService executor;
+        private final Scheduler scheduler;
+        private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+        private final ConcurrentLinkedQueue<Ticket> ready = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private int running;
+
+        private Compartment(String origin, int limit) {
+            this.limit = limit;
+            if (threadIsolation) {
+                executor = Executors.newFixedThreadPool(limit, new IsolationThreadFactory(origin));
+                scheduler = Schedulers.from(executor);
+            } else {
+                executor = null;
+                scheduler = null;
+            }
+        }
+
+        private synchronized boolean admit(Ticket ticket) {
+            if (running < limit) {
+                running++;
+                ticket.running = true;
+                return true;
+            }
+            if (waiting.size() < maxWaiting) {
+                ticket.queued = CompletableSubject.create();
+                waiting.add(ticket);
+                return true;
+            }
+            return false;
+        }
+
+        private void finish(Ticket ticket) {
+            Ticket next;
+            synchronized (this) {
+                if (!ticket.running) {
+                    waiting.remove(ticket);
+                    return;
+                }
+                ticket.running = false;
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                    return;
+                }
+                next.running = true;
+            }
+            ready.offer(next);
+            drain();
+        }
+
+        /**
+         * Start the ready executions, unless this or another thread is already doing it,
+         * as executions finishing synchronously would otherwise start the next ones
+         * recursively, as deep as the queue is long.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                Ticket next;
+                while ((next = ready.poll()) != null) {
+                    next.queued.onComplete();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private synchronized int getRunning() {
+            return running;
+        }
+
+        private synchronized int getWaiting() {
+            return waiting.size();
+        }
+
+        private void shutdown() {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private static final class IsolationThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private IsolationThreadFactory(String origin) {
+            this.prefix = "RxUseCase-Bulkhead-" + origin + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Builder pattern for creating and configuring {@link BulkheadDecorator} objects.
+     */
+    public static class Builder {
+        private static final int DEFAULT_MAX_CONCURRENT = 10;
+
+        private int maxConcurrent = DEFAULT_MAX_CONCURRENT;
+        private final Map<String, Integer> originMaxConcurrent = new HashMap<>();
+        private int maxWaiting;
+        private boolean threadIsolation;
+
+        Builder() {
+        }
+
+        /**
+         * Set the maximum number of concurrent executions of each origin,
+         * unless configured otherwise for the origin. By default 10.
+         *
+         * @param maxConcurrent Maximum concurrent executions
+         * @return This builder
+         */
+        public Builder maxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = checkPositive(maxConcurrent);
+            return this;
+        }
+
+        /**
+         * Set the maximum number of concurrent executions of the passed origin.
+         *
+         * @param origin        Use-case origin
+         * @param maxConcurrent Maximum concurrent executions
+         * @return This builder
+         */
+        public Builder maxConcurrent(String origin, int maxConcurrent) {
+            originMaxConcurrent.put(origin != null ? origin : UNDEFINED,
+                    checkPositive(maxConcurrent));
+            return this;
+        }
+
+        /**
+         * Set the maximum number of executions of each origin waiting to start.
+         * By default executions are rejected as soon as the concurrency limit is reached.
+         *
+         * @param maxWaiting Maximum waiting executions
+         * @return This builder
+         */
+        public Builder maxWaiting(int maxWaiting) {
+            if (maxWaiting < 0) {
+                throw new IllegalArgumentException("Maximum waiting should not be negative!");
+            }
+            this.maxWaiting = maxWaiting;
+            return this;
+        }
+
+        /**
+         * Run the executions of each origin on a thread pool of its own,
+         * having as many threads as its concurrency limit.
+         *
+         * @return This builder
+         */
+        public Builder threadIsolation() {
+            this.threadIsolation = true;
+            return this;
+        }
+
+        private static int checkPositive(int maxConcurrent) {
+            if (maxConcurrent <= 0) {
+                throw new IllegalArgumentException("Maximum concurrent should be positive!");
+            }
+            return maxConcurrent;
+        }
+
+        /**
+         * Build the {@link BulkheadDecorator} configured with data
+         * passed in the builder methods.
+         *
+         * @return Configured {@link BulkheadDecorator} object
+         */
+        public BulkheadDecorator build() {
+            return new BulkheadDecorator(this);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+
+/**
+ * Decorator caching in memory the {@link Response}s of use-cases.
+ * It is meant for use-cases emitting a single {@link Response}, as only
+ * the first response of an execution is cached and emitted on cache hits.
+ * Successful responses are kept for the configured time to live,
+ * failure responses are cached only if a failure time to live is configured.
+ * When the maximum number of entries is exceeded, the least recently used
+ * of a random sample of entries is evicted, approximating a LRU policy
+ * without locking the cache on each access.
+ * <p>
+ * By default responses are cached by {@link Request}, see {@link Request#equals(Object)}.
+ * A {@link KeyExtractor} can be passed to customize this.
+ * Use a separate decorator instance for each group of use-cases having
+ * a different caching policy.
+ */
+public final class CachingDecorator implements UseCaseDecorator {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final KeyExtractor keyExtractor;
+    private final long timeToLiveNanos;
+    private final long failureTimeToLiveNanos;
+    private final int maximumSize;
+    private final Scheduler clock;
+    private final ConcurrentMap<Object, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final AtomicLong accesses = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private CachingDecorator(Builder builder) {
+        keyExtractor = builder.keyExtractor;
+        timeToLiveNanos = builder.timeToLiveNanos;
+        failureTimeToLiveNanos = builder.failureTimeToLiveNanos;
+        maximumSize = builder.maximumSize;
+        clock = builder.clock;
+    }
+
+    @Override
+    public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                         Request<I> request) {
+        Object key = keyExtractor.extract(request);
+        if (key == null) {
+            return origin;
+        }
+        return Observable.defer(() -> {
+            Response<O> cached = lookup(key);
+            if (cached != null) {
+                hitCount.incrementAndGet();
+                return Observable.just(cached);
+            }
+            missCount.incrementAndGet();
+
+            AtomicBoolean first = new AtomicBoolean(true);
+            return origin.doOnNext(response -> {
+                if (first.compareAndSet(true, false)) {
+                    store(key, response);
+                }
+            });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <O> Response<O> lookup(Object key) {
+        CachedResponse entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - now() <= 0) {
+            remove(key, entry);
+            return null;
+        }
+        entry.accessedAt = accesses.incrementAndGet();
+        return (Response<O>) entry.response;
+    }
+
+    private void store(Object key, Response<?> response) {
+        long timeToLive = response.isSuccessful() ? timeToLiveNanos : failureTimeToLiveNanos;
+        if (timeToLive <= 0) {
+            return;
+        }
+        CachedResponse entry = new CachedResponse(response, now() + timeToLive,
+                accesses.incrementAndGet());
+        entries.put(key, entry);
+        while (entries.size() > maximumSize) {
+            evictSample();
+        }
+    }
+
+    /**
+     * Evict the least recently used of a sample of entries,
+     * starting from a random position of the map.
+     */
+    private void evictSample() {
+        int size = entries.size();
+        int skip = size > EVICTION_SAMPLE_SIZE
+                ? ThreadLocalRandom.current().nextInt(size - EVICTION_SAMPLE_SIZE + 1) : 0;
+        Object eldestKey = null;
+        CachedResponse eldest = null;
+        int sampled = 0;
+        for (Map.Entry<Object, CachedResponse> entry : entries.entrySet()) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            if (eldest == null || entry.getValue().accessedAt < eldest.accessedAt) {
+                eldestKey = entry.getKey();
+                eldest = entry.getValue();
+            }
+            if (++sampled == EVICTION_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        if (eldest != null) {
+            remove(eldestKey, eldest);
+        }
+    }
+
+    private void remove(Object key, CachedResponse entry) {
+        if (entries.remove(key, entry)) {
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private long now() {
+        return clock != null ? clock.now(TimeUnit.NANOSECONDS) : System.nanoTime();
+    }
+
+    /**
+     * Remove the cached response of the passed key.
+     *
+     * @param key Request key
+     */
+    public void invalidate(Object key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove all the cached responses.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Get the number of cached responses, including the expired ones
+     * which were not evicted yet.
+     *
+     * @return Number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove all the expired responses.
+     */
+    public void evictExpired() {
+        long now = now();
+        Iterator<CachedResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAt - now <= 0) {
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Create a new {@link Builder} instance for configuring
+     * the {@link CachingDecorator}.
+     *
+     * @return Builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private static final class CachedResponse {
+        private final Response<?> response;
+        private final long expiresAt;
+        private volatile long accessedAt;
+
+        private CachedResponse(Response<?> response, long expiresAt, long accessedAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+            this.accessedAt = accessedAt;
+        }
+    }
+
+    /**
+     * Builder pattern for creating and configuring {@link CachingDecorator} objects.
+     */
+    public static class Builder {
+        private static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+        private KeyExtractor keyExtractor = request -> request;
+        private long timeToLiveNanos = Long.MAX_VALUE / 2;
+        private long failureTimeToLiveNanos;
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Scheduler clock;
+
+        Builder() {
+        }
+
+        /**
+         * Set the extractor of the keys responses are cached by.
+         * Requests for which the extractor returns a null key are not cached.
+         *
+         * @param keyExtractor Request key extractor
+         * @return This builder
+         */
+        public Builder keyExtractor(KeyExtractor keyExtractor) {
+            this.keyExtractor = Objects.requireNonNull(keyExtractor,
+                    "Key extractor should not be null!");
+            return this;
+        }
+
+        /**
+         * Set the time successful responses are kept in the cache.
+         * By default they do not expire.
+         *
+         * @param duration Time to live
+         * @param unit     Time unit
+         * @return This builder
+         */
+        public Builder expireAfter(long duration, TimeUnit unit) {
+            this.timeToLiveNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Set the time failure responses are kept in the cache.
+         * By default they are not cached.
+         *
+         * @param duration Time to live
+         * @param unit     Time unit
+         * @return This builder
+         */
+        public Builder expireFailuresAfter(long duration, TimeUnit unit) {
+            this.failureTimeToLiveNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Set the maximum number of cached responses.
+         *
+         * @param maximumSize Maximum number of entries
+         * @return This builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size should be positive!");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Set the scheduler whose clock is used for expiring responses,
+         * ex. for testing. By default {@link System#nanoTime()} is used.
+         *
+         * @param clock Time source
+         * @return This builder
+         */
+        public Builder clock(Scheduler clock) {
+            this.clock = Objects.requireNonNull(clock, "Clock should not be null!");
+            return this;
+        }
+
+        /**
+         * Build the {@link CachingDecorator} configured with data
+         * passed in the builder methods.
+         *
+         * @return Configured {@link CachingDecorator} object
+         */
+        public CachingDecorator build() {
+            return new CachingDecorator(this);
+        }
+    }
+}
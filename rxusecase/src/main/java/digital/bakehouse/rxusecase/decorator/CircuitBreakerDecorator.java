@@ -0,0 +1,465 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+
+/**
+ * Decorator failing fast the executions of use-cases whose dependency is down,
+ * instead of letting each of them wait for its own timeout.
+ * There is a circuit for each {@link Request#getOrigin()}, which:
+ * - is {@link State#CLOSED} while the failure rate of the last executions,
+ * computed over a sliding window, is below the configured threshold
+ * - opens when the threshold is reached, and then short-circuits
+ * the executions by emitting the {@link #REJECTION} failure response
+ * - becomes {@link State#HALF_OPEN} after the open duration, letting a few trial
+ * executions through, which close it if all of them succeed or open it again otherwise
+ * <p>
+ * An execution is recorded when it emits its first response, or terminates without one.
+ * Failure responses and exceptions count as failures, unless only some failure codes
+ * or exception types are configured to, see {@link Builder#recordFailures(String...)}
+ * and {@link Builder#recordExceptions(Class[])}.
+ * The circuits are lock-free, their state and window being kept in atomics.
+ */
+public final class CircuitBreakerDecorator implements UseCaseDecorator {
+
+    /**
+     * Code of the failure emitted by short-circuited executions.
+     */
+    public static final String REJECTION_CODE = "CIRCUIT_OPEN";
+
+    /**
+     * Failure emitted by short-circuited executions.
+     */
+    public static final Failure REJECTION = new Failure(REJECTION_CODE,
+            "Circuit is open!");
+
+    private static final String UNDEFINED = "";
+
+    /**
+     * State of a circuit.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final float failureRateThreshold;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final Set<String> failureCodes;
+    private final List<Class<? extends Throwable>> exceptionTypes;
+    private final Scheduler clock;
+    private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private CircuitBreakerDecorator(Builder builder) {
+        failureRateThreshold = builder.failureRateThreshold;
+        windowSize = builder.windowSize;
+        minimumCalls = Math.min(builder.minimumCalls, builder.windowSize);
+        openNanos = builder.openNanos;
+        halfOpenCalls = builder.halfOpenCalls;
+        failureCodes = builder.failureCodes.isEmpty()
+                ? null : new HashSet<>(builder.failureCodes);
+        exceptionTypes = builder.exceptionTypes.isEmpty()
+                ? null : new ArrayList<>(builder.exceptionTypes);
+        clock = builder.clock;
+    }
+
+    /**
+     * Create a new {@link Builder} instance for configuring
+     * the {@link CircuitBreakerDecorator}.
+     *
+     * @return Builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                         Request<I> request) {
+        Circuit circuit = getCircuit(request.getOrigin());
+        return Observable.defer(() -> {
+            Generation generation = circuit.acquire();
+            if (generation == null) {
+                rejectedCount.incrementAndGet();
+                return Observable.just(Response.<O>fail(REJECTION));
+            }
+            Call call = new Call(circuit, generation);
+            return origin
+                    .doOnNext(response -> call.record(isRecorded(response)))
+                    .doOnError(throwable -> call.record(isRecorded(throwable)))
+                    .doOnComplete(() -> call.record(false))
+                    .doOnDispose(call::release);
+        });
+    }
+
+    private boolean isRecorded(Response<?> response) {
+        if (response.isSuccessful()) {
+            return false;
+        }
+        return failureCodes == null || failureCodes.contains(response.getFailure().getCode());
+    }
+
+    private boolean isRecorded(Throwable throwable) {
+        if (exceptionTypes == null) {
+            return true;
+        }
+        for (Class<? extends Throwable> type : exceptionTypes) {
+            if (type.isInstance(throwable)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Circuit getCircuit(String origin) {
+        String key = origin != null ? origin : UNDEFINED;
+        Circuit result = circuits.get(key);
+        if (result == null) {
+            Circuit created = new Circuit();
+            result = circuits.putIfAbsent(key, created);
+            if (result == null) {
+                result = created;
+            }
+        }
+        return result;
+    }
+
+    private long now() {
+        return clock != null ? clock.now(TimeUnit.NANOSECONDS) : System.nanoTime();
+    }
+
+    /**
+     * Get the state of the circuit of the passed origin.
+     *
+     * @param origin Use-case origin
+     * @return Circuit state
+     */
+    public State getState(String origin) {
+        Circuit circuit = circuits.get(origin != null ? origin : UNDEFINED);
+        return circuit != null ? circuit.generation.get().state : State.CLOSED;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Outcome of a single execution, recorded only once.
+     */
+    private static final class Call {
+        private final Circuit circuit;
+        private final Generation generation;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Call(Circuit circuit, Generation generation) {
+            this.circuit = circuit;
+            this.generation = generation;
+        }
+
+        private void record(boolean failed) {
+            if (done.compareAndSet(false, true)) {
+                circuit.record(generation, failed);
+            }
+        }
+
+        private void release() {
+            if (done.compareAndSet(false, true)) {
+                generation.release();
+            }
+        }
+    }
+
+    /**
+     * Count based sliding window of execution outcomes.
+     */
+    private static final class Window {
+        private static final int EMPTY = 0;
+        private static final int SUCCEEDED = 1;
+        private static final int FAILED = 2;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private Window(int size) {
+            outcomes = new AtomicIntegerArray(size);
+        }
+
+        private void record(boolean failure) {
+            int slot = (int) (cursor.getAndIncrement() % outcomes.length());
+            int previous = outcomes.getAndSet(slot, failure ? FAILED : SUCCEEDED);
+            if (previous == EMPTY) {
+                recorded.incrementAndGet();
+            } else if (previous == FAILED) {
+                failed.decrementAndGet();
+            }
+            if (failure) {
+                failed.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * State of a circuit from one transition to the next, along with its open time
+     * and counters. Each transition swaps in a new generation, so the counters are
+     * never reset, and executions let through by a previous one cannot affect them.
+     */
+    private static final class Generation {
+        private final State state;
+        private final long openedAt;
+        private final Window window;
+        private final AtomicInteger trials;
+        private final AtomicInteger trialSuccesses;
+
+        private Generation(State state, long openedAt, Window window, int trials) {
+            this.state = state;
+            this.openedAt = openedAt;
+            this.window = window;
+            this.trials = new AtomicInteger(trials);
+            this.trialSuccesses = new AtomicInteger();
+        }
+
+        private boolean acquireTrial() {
+            while (true) {
+                int available = trials.get();
+                if (available <= 0) {
+                    return false;
+                }
+                if (trials.compareAndSet(available, available - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release() {
+            if (state == State.HALF_OPEN) {
+                trials.incrementAndGet();
+            }
+        }
+    }
+
+    private final class Circuit {
+        private final AtomicReference<Generation> generation =
+                new AtomicReference<>(closed());
+
+        private Generation closed() {
+            return new Generation(State.CLOSED, 0, new Window(windowSize), 0);
+        }
+
+        /**
+         * Let an execution through.
+         *
+         * @return Generation the execution was let through in, or null if it is short-circuited
+         */
+        private Generation acquire() {
+            while (true) {
+                Generation current = generation.get();
+                if (current.state == State.CLOSED) {
+                    return current;
+                }
+                if (current.state == State.OPEN) {
+                    if (now() - current.openedAt < openNanos) {
+                        return null;
+                    }
+                    Generation halfOpen = new Generation(State.HALF_OPEN, current.openedAt,
+                            null, halfOpenCalls);
+                    if (!generation.compareAndSet(current, halfOpen)) {
+                        continue;
+                    }
+                    current = halfOpen;
+                }
+                return current.acquireTrial() ? current : null;
+            }
+        }
+
+        /**
+         * Record the outcome of an execution, ignored if the circuit
+         * changed state since the execution was let through.
+         */
+        private void record(Generation acquired, boolean failed) {
+            if (acquired.state == State.HALF_OPEN) {
+                if (failed) {
+                    open(acquired);
+                } else if (acquired.trialSuccesses.incrementAndGet() >= halfOpenCalls) {
+                    generation.compareAndSet(acquired, closed());
+                }
+                return;
+            }
+            Window window = acquired.window;
+            window.record(failed);
+            int recorded = window.recorded.get();
+            if (failed && recorded >= minimumCalls
+                    && window.failed.get() >= failureRateThreshold * recorded) {
+                open(acquired);
+            }
+        }
+
+        private void open(Generation expected) {
+            generation.compareAndSet(expected, new Generation(State.OPEN, now(), null, 0));
+        }
+    }
+
+    /**
+     * Builder pattern for creating and configuring {@link CircuitBreakerDecorator} objects.
+     */
+    public static class Builder {
+        private static final float DEFAULT_FAILURE_RATE_THRESHOLD = 0.5f;
+        private static final int DEFAULT_WINDOW_SIZE = 20;
+        private static final int DEFAULT_MINIMUM_CALLS = 10;
+        private static final long DEFAULT_OPEN_SECONDS = 30;
+
+        private float failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+        private long openNanos = TimeUnit.SECONDS.toNanos(DEFAULT_OPEN_SECONDS);
+        private int halfOpenCalls = 1;
+        private final Set<String> failureCodes = new HashSet<>();
+        private final List<Class<? extends Throwable>> exceptionTypes = new ArrayList<>();
+        private Scheduler clock;
+
+        Builder() {
+        }
+
+        /**
+         * Set the failure rate, between 0 and 1, from which the circuit opens.
+         * By default 0.5.
+         *
+         * @param failureRateThreshold Failure rate threshold
+         * @return This builder
+         */
+        public Builder failureRateThreshold(float failureRateThreshold) {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+                throw new IllegalArgumentException("Failure rate threshold should be in (0, 1]!");
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Set the number of last executions the failure rate is computed over.
+         * By default 20.
+         *
+         * @param windowSize Sliding window size
+         * @return This builder
+         */
+        public Builder windowSize(int windowSize) {
+            this.windowSize = checkPositive(windowSize);
+            return this;
+        }
+
+        /**
+         * Set the number of executions to record before the failure rate is evaluated.
+         * By default 10, or the window size if it is smaller.
+         *
+         * @param minimumCalls Minimum recorded executions
+         * @return This builder
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = checkPositive(minimumCalls);
+            return this;
+        }
+
+        /**
+         * Set the time the circuit stays open, before letting trial executions through.
+         * By default 30 seconds.
+         *
+         * @param duration Open duration
+         * @param unit     Time unit
+         * @return This builder
+         */
+        public Builder openDuration(long duration, TimeUnit unit) {
+            this.openNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Set the number of trial executions let through when half-open,
+         * all of which should succeed for the circuit to close. By default 1.
+         *
+         * @param halfOpenCalls Trial executions
+         * @return This builder
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = checkPositive(halfOpenCalls);
+            return this;
+        }
+
+        /**
+         * Count only the failure responses having one of the passed codes
+         * as failures. By default all of them are counted.
+         *
+         * @param codes Failure codes
+         * @return This builder
+         */
+        public Builder recordFailures(String... codes) {
+            failureCodes.addAll(Arrays.asList(codes));
+            return this;
+        }
+
+        /**
+         * Count only the exceptions of the passed types as failures.
+         * By default all of them are counted.
+         *
+         * @param types Exception types
+         * @return This builder
+         */
+        @SafeVarargs
+        public final Builder recordExceptions(Class<? extends Throwable>... types) {
+            for (Class<? extends Throwable> type : types) {
+                exceptionTypes.add(type);
+            }
+            return this;
+        }
+
+        /**
+         * Set the scheduler whose clock is used for timing the open state, ex. for testing.
+         * By default {@link System#nanoTime()} is used.
+         *
+         * @param clock Time source
+         * @return This builder
+         */
+        public Builder clock(Scheduler clock) {
+            this.clock = Objects.requireNonNull(clock, "Clock should not be null!");
+            return this;
+        }
+
+        private static int checkPositive(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Value should be positive!");
+            }
+            return value;
+        }
+
+        /**
+         * Build the {@link CircuitBreakerDecorator} configured with data
+         * passed in the builder methods.
+         *
+         * @return Configured {@link CircuitBreakerDecorator} object
+         */
+        public CircuitBreakerDecorator build() {
+            return new CircuitBreakerDecorator(this);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import io.reactivex.Observable;
+
+/**
+ * Decorator sharing a single in-flight execution among all the concurrent
+ * subscriptions to use-cases created with equal requests.
+ * The first subscription triggers the execution, the subsequent ones
+ * join it and receive the same {@link Response}s. Subscriptions joining
+ * after an emission receive the latest emitted {@link Response}.
+ * Once the execution terminates, or all its subscribers are disposed,
+ * the next subscription will trigger a new execution, shared in turn
+ * with the subscriptions racing with the termination.
+ * <p>
+ * By default requests are matched using {@link Request#equals(Object)},
+ * which takes into account the input, tag, origin and extras of the request.
+ * Useful to avoid duplicated work, ex. when many callers request the same data
+ * at the same time.
+ */
+public final class CoalescingDecorator implements UseCaseDecorator {
+
+    private final KeyExtractor keyExtractor;
+    private final ConcurrentMap<Object, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+
+    private CoalescingDecorator(KeyExtractor keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Factory method to create a decorator coalescing the executions
+     * of equal requests.
+     *
+     * @return Default coalescing decorator
+     */
+    public static CoalescingDecorator getDefault() {
+        return new CoalescingDecorator(request -> request);
+    }
+
+    /**
+     * Factory method to create a decorator coalescing the executions of
+     * requests having equal keys. Requests for which the extractor returns
+     * a null key are not coalesced.
+     *
+     * @param keyExtractor Request key extractor
+     * @return Key coalescing decorator
+     */
+    public static CoalescingDecorator getWithKey(KeyExtractor keyExtractor) {
+        Objects.requireNonNull(keyExtractor, "Key extractor should not be null!");
+        return new CoalescingDecorator(keyExtractor);
+    }
+
+    @Override
+    public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                         Request<I> request) {
+        Object key = keyExtractor.extract(request);
+        if (key == null) {
+            return origin;
+        }
+        return Observable.defer(() -> join(origin, key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <O> Observable<Response<O>> join(Observable<Response<O>> origin, Object key) {
+        while (true) {
+            InFlight<O> existing = (InFlight<O>) inFlight.get(key);
+            if (existing == null) {
+                InFlight<O> candidate = new InFlight<>(origin, key);
+                existing = (InFlight<O>) inFlight.putIfAbsent(key, candidate);
+                if (existing == null) {
+                    return candidate.stream;
+                }
+            }
+            if (!existing.finished) {
+                return existing.stream;
+            }
+            inFlight.remove(key, existing);
+        }
+    }
+
+    /**
+     * Shared execution of a key. Once it terminates or is disposed, it is finished:
+     * subscribers which got its stream before it was removed from the map, and would
+     * reconnect it, join the current execution of the key instead.
+     */
+    private final class InFlight<O> {
+        private final AtomicBoolean connected = new AtomicBoolean();
+        private final Observable<Response<O>> stream;
+        private volatile boolean finished;
+
+        private InFlight(Observable<Response<O>> origin, Object key) {
+            Observable<Response<O>> execution = origin
+                    .doOnTerminate(this::finish)
+                    .doOnDispose(this::finish)
+                    .doFinally(() -> inFlight.remove(key, this));
+            stream = Observable.defer(() -> connected.compareAndSet(false, true)
+                    ? execution
+                    : join(origin, key))
+                    .replay(1)
+                    .refCount();
+        }
+
+        private void finish() {
+            finished = true;
+        }
+    }
+}
@@ -4,7 +4,10 @@ import digital.bakehouse.rxusecase.Failure;
 import digital.bakehouse.rxusecase.Request;
 import digital.bakehouse.rxusecase.Response;
 import digital.bakehouse.rxusecase.FailureException;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.exceptions.Exceptions;
 
 import static io.reactivex.Observable.error;
 import static io.reactivex.Observable.just;
@@ -17,7 +20,8 @@ import static io.reactivex.Observable.just;
  * all the other exceptions. Otherwise (or if it returns null failure for an
  * exception) the exception will be propagated down the stream.
  */
-public final class FailureConverter implements UseCaseDecorator {
+public final class FailureConverter
+        implements FlowableDecorator, SingleDecorator, InlineDecorator {
 
     private Mapper exceptionMapper;
 
@@ -68,29 +72,73 @@ public final class FailureConverter implements UseCaseDecorator {
     public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
                                                          Request<I> ignored) {
         return origin.onErrorResumeNext(throwable -> {
-            if (throwable instanceof FailureException) {
-                return failureResponse(((FailureException) throwable).getFailure());
-            }
-            if (exceptionMapper != null) {
-                Failure mappedFailure = exceptionMapper.map(throwable);
-                if (mappedFailure != null) {
-                    return failureResponse(mappedFailure);
-                }
+            Failure failure = convert(throwable);
+            if (failure != null) {
+                Response<O> failureResponse = Response.fail(failure);
+                return just(failureResponse);
             }
 
             return error(throwable);
         });
     }
 
-    private static <O> Observable<Response<O>> failureResponse(Failure failure) {
-        Response<O> failureResponse = Response.fail(failure);
-        return just(failureResponse);
+    @Override
+    public final <I, O> Flowable<Response<O>> decorateFlowable(Flowable<Response<O>> origin,
+                                                               Request<I> ignored) {
+        return origin.onErrorResumeNext(throwable -> {
+            Failure failure = convert(throwable);
+            if (failure != null) {
+                Response<O> failureResponse = Response.fail(failure);
+                return Flowable.just(failureResponse);
+            }
+
+            return Flowable.error(throwable);
+        });
+    }
+
+    @Override
+    public final <I, O> Single<Response<O>> decorateSingle(Single<Response<O>> origin,
+                                                           Request<I> ignored) {
+        return origin.onErrorResumeNext(throwable -> {
+            Failure failure = convert(throwable);
+            if (failure != null) {
+                Response<O> failureResponse = Response.fail(failure);
+                return Single.just(failureResponse);
+            }
+
+            return Single.error(throwable);
+        });
+    }
+
+    @Override
+    public final <I, O> Response<O> decorateInline(Invocation<O> invocation,
+                                                   Request<I> ignored) {
+        try {
+            return invocation.proceed();
+        } catch (Throwable throwable) {
+            Exceptions.throwIfFatal(throwable);
+            Failure failure = convert(throwable);
+            if (failure != null) {
+                return Response.fail(failure);
+            }
+            throw throwable;
+        }
+    }
+
+    private Failure convert(Throwable throwable) {
+        if (throwable instanceof FailureException) {
+            return ((FailureException) throwable).getFailure();
+        }
+        if (exceptionMapper != null) {
+            return exceptionMapper.map(throwable);
+        }
+        return null;
     }
 
     /**
      * Exception to {@link Failure} mapper.
      */
-    interface Mapper {
+    public interface Mapper {
         /**
          * Map exception to{@link Failure}.
          *
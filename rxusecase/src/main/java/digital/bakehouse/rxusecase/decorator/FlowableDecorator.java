@@ -0,0 +1,32 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import io.reactivex.Flowable;
+import io.reactivex.annotations.NonNull;
+
+/**
+ * Decorator of use-case observables which is able to decorate their
+ * backpressured {@link Flowable} variants as well.
+ * Decorators not implementing this interface are still applied
+ * to {@link Flowable} streams, by converting them into observables and back,
+ * applying the backpressure requested for the stream once again.
+ * <p>
+ * See {@link digital.bakehouse.rxusecase.RxUseCase#createFlowable(Request,
+ * digital.bakehouse.rxusecase.Backpressure)} for reference.
+ */
+public interface FlowableDecorator extends UseCaseDecorator {
+
+    /**
+     * Decorate the passed flowable stream with additional functionality.
+     *
+     * @param origin  Flowable stream to decorate
+     * @param request Request object
+     * @param <I>     Input type
+     * @param <O>     Output type
+     * @return Decorated flowable stream
+     */
+    @NonNull
+    <I, O> Flowable<Response<O>> decorateFlowable(Flowable<Response<O>> origin,
+                                                  Request<I> request);
+}
@@ -0,0 +1,331 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.toolbox.Histogram;
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import digital.bakehouse.rxusecase.toolbox.TokenBudget;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Decorator reducing the tail latency of idempotent use-cases, ex. remote reads,
+ * by subscribing to additional copies of an execution which did not respond in time,
+ * known as hedged requests.
+ * <p>
+ * When no response arrives within the hedge delay, another copy is subscribed to, up to the
+ * configured number of hedges. The first successful response is emitted and all the copies
+ * are disposed. If all the started copies fail, the last failure is emitted instead.
+ * Only the first response of each copy is taken into account, so it should be applied
+ * to use-cases responding once. An exception emitted by a copy is treated like a failure:
+ * it is propagated only if no other copy is running.
+ * <p>
+ * The hedge delay is either fixed, or the configured percentile of the latencies of the
+ * last executions of the same {@link Request#getOrigin()}, see {@link Builder#percentile(double)}.
+ * The latency of an execution is measured from its subscription until its successful response,
+ * whichever copy responded, so that hedged executions are not left out of it.
+ * Hedges are also limited to a fraction of the executions, so that the extra load stays bounded
+ * when the dependency itself is slow.
+ */
+public final class HedgingDecorator implements UseCaseDecorator {
+
+    private static final String UNDEFINED = "";
+
+    private final long delayNanos;
+    private final double percentile;
+    private final int windowSize;
+    private final int maxHedges;
+    private final TokenBudget budget;
+    private final Scheduler clock;
+    private final Scheduler scheduler;
+    private final ConcurrentMap<String, Latencies> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong hedgeCount = new AtomicLong();
+
+    private HedgingDecorator(Builder builder) {
+        delayNanos = builder.delayNanos;
+        percentile = builder.percentile;
+        windowSize = builder.windowSize;
+        maxHedges = builder.maxHedges;
+        budget = new TokenBudget(builder.hedgeRatio, builder.maxBurst);
+        clock = builder.clock;
+        scheduler = clock != null ? clock : Schedulers.computation();
+    }
+
+    /**
+     * Create a new {@link Builder} instance for configuring
+     * the {@link HedgingDecorator}.
+     *
+     * @return Builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                         Request<I> request) {
+        Latencies history = percentile > 0 ? getLatencies(request.getOrigin()) : null;
+        return Observable.defer(() -> {
+            budget.deposit();
+            Execution<O> execution = new Execution<>(origin);
+            long delay = history != null ? history.threshold : delayNanos;
+            Observable<Response<O>> result = Observable.range(0, maxHedges + 1)
+                    .flatMap(copy -> copy == 0
+                            ? execution.start()
+                            : Observable.timer(delay * copy, TimeUnit.NANOSECONDS, scheduler)
+                            .flatMap(ignored -> execution.hedge()))
+                    .filter(execution::isResponse)
+                    .take(1);
+            if (history == null) {
+                return result;
+            }
+            long start = now();
+            return result.doOnNext(response -> {
+                if (response.isSuccessful()) {
+                    history.record(now() - start);
+                }
+            });
+        });
+    }
+
+    private Latencies getLatencies(String origin) {
+        String key = origin != null ? origin : UNDEFINED;
+        Latencies result = latencies.get(key);
+        if (result == null) {
+            Latencies created = new Latencies();
+            result = latencies.putIfAbsent(key, created);
+            if (result == null) {
+                result = created;
+            }
+        }
+        return result;
+    }
+
+    private long now() {
+        return clock != null ? clock.now(TimeUnit.NANOSECONDS) : System.nanoTime();
+    }
+
+    /**
+     * Get the current hedge delay of the passed origin.
+     *
+     * @param origin Use-case origin
+     * @param unit   Time unit
+     * @return Hedge delay
+     */
+    public long getDelay(String origin, TimeUnit unit) {
+        Latencies history = percentile > 0
+                ? latencies.get(origin != null ? origin : UNDEFINED) : null;
+        return unit.convert(history != null ? history.threshold : delayNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    /**
+     * Copies of a single execution.
+     */
+    private final class Execution<O> {
+        private final Observable<Response<O>> origin;
+        private final AtomicInteger running = new AtomicInteger();
+
+        private Execution(Observable<Response<O>> origin) {
+            this.origin = origin;
+        }
+
+        private Observable<Response<O>> start() {
+            running.incrementAndGet();
+            return Observable.defer(() -> {
+                AtomicBoolean finished = new AtomicBoolean();
+                return origin.take(1)
+                        .doOnNext(response -> finish(finished))
+                        .doOnComplete(() -> finish(finished))
+                        .onErrorResumeNext((Throwable throwable) -> finish(finished) > 0
+                                ? Observable.<Response<O>>empty()
+                                : Observable.<Response<O>>error(throwable));
+            });
+        }
+
+        /**
+         * Mark a copy as finished, once.
+         *
+         * @return Number of copies still running
+         */
+        private int finish(AtomicBoolean finished) {
+            if (finished.compareAndSet(false, true)) {
+                return running.decrementAndGet();
+            }
+            return running.get();
+        }
+
+        private Observable<Response<O>> hedge() {
+            if (!budget.withdraw()) {
+                return Observable.empty();
+            }
+            hedgeCount.incrementAndGet();
+            return start();
+        }
+
+        /**
+         * Check whether the response of a copy should be emitted:
+         * if it is successful, or if it is a failure and no other copy is running.
+         */
+        private boolean isResponse(Response<O> response) {
+            return response.isSuccessful() || running.get() <= 0;
+        }
+    }
+
+    /**
+     * Rolling latency percentile of an origin, computed over windows of executions.
+     * The thread completing a window swaps in an empty histogram, so that the latencies
+     * recorded concurrently go to the next window instead of being reset.
+     */
+    private final class Latencies {
+        private final AtomicReference<Histogram> histogram =
+                new AtomicReference<>(new Histogram());
+        private final AtomicInteger recorded = new AtomicInteger();
+        private volatile long threshold = delayNanos;
+
+        private void record(long latency) {
+            histogram.get().record(latency);
+            int count = recorded.incrementAndGet();
+            if (count >= windowSize && recorded.compareAndSet(count, 0)) {
+                Histogram window = histogram.getAndSet(new Histogram());
+                threshold = window.snapshot().getValueAtPercentile(percentile);
+            }
+        }
+    }
+
+    /**
+     * Builder pattern for creating and configuring {@link HedgingDecorator} objects.
+     */
+    public static class Builder {
+        private static final long DEFAULT_DELAY_MILLIS = 100;
+        private static final int DEFAULT_WINDOW_SIZE = 100;
+        private static final double DEFAULT_HEDGE_RATIO = 0.1;
+        private static final int DEFAULT_MAX_BURST = 10;
+
+        private long delayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DELAY_MILLIS);
+        private double percentile;
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private int maxHedges = 1;
+        private double hedgeRatio = DEFAULT_HEDGE_RATIO;
+        private int maxBurst = DEFAULT_MAX_BURST;
+        private Scheduler clock;
+
+        Builder() {
+        }
+
+        /**
+         * Set the fixed delay after which a copy is subscribed to,
+         * also used until latencies are recorded when hedging by percentile.
+         * By default 100 milliseconds.
+         *
+         * @param delay Hedge delay
+         * @param unit  Time unit
+         * @return This builder
+         */
+        public Builder delay(long delay, TimeUnit unit) {
+            if (delay < 0) {
+                throw new IllegalArgumentException("Delay should not be negative!");
+            }
+            this.delayNanos = unit.toNanos(delay);
+            return this;
+        }
+
+        /**
+         * Hedge the executions not responding within the passed percentile,
+         * between 0 and 100, of the latencies of the last executions of their origin.
+         *
+         * @param percentile Latency percentile, ex. 95
+         * @return This builder
+         */
+        public Builder percentile(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile should be in (0, 100]!");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Set the number of successful executions after which
+         * the latency percentile is recomputed. By default 100.
+         *
+         * @param windowSize Executions per window
+         * @return This builder
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize <= 0) {
+                throw new IllegalArgumentException("Window size should be positive!");
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of copies subscribed to in addition to the
+         * original execution, each after another delay. By default 1.
+         *
+         * @param maxHedges Maximum hedges per execution
+         * @return This builder
+         */
+        public Builder maxHedges(int maxHedges) {
+            if (maxHedges < 0) {
+                throw new IllegalArgumentException("Maximum hedges should not be negative!");
+            }
+            this.maxHedges = maxHedges;
+            return this;
+        }
+
+        /**
+         * Set the budget of hedges: each execution allows the ratio of a hedge,
+         * and up to the maximum burst of hedges can be accumulated.
+         * By default hedges are allowed for 10% of the executions, with a burst of 10.
+         *
+         * @param ratio    Hedges allowed per execution
+         * @param maxBurst Maximum hedges that can be accumulated
+         * @return This builder
+         */
+        public Builder budget(double ratio, int maxBurst) {
+            if (ratio < 0 || maxBurst < 0) {
+                throw new IllegalArgumentException("Budget should not be negative!");
+            }
+            this.hedgeRatio = ratio;
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        /**
+         * Set the scheduler the hedge delays and latencies are timed on, ex. for testing.
+         * By default the computation scheduler and {@link System#nanoTime()} are used.
+         *
+         * @param clock Time source
+         * @return This builder
+         */
+        public Builder clock(Scheduler clock) {
+            this.clock = Objects.requireNonNull(clock, "Clock should not be null!");
+            return this;
+        }
+
+        /**
+         * Build the {@link HedgingDecorator} configured with data
+         * passed in the builder methods.
+         *
+         * @return Configured {@link HedgingDecorator} object
+         */
+        public HedgingDecorator build() {
+            return new HedgingDecorator(this);
+        }
+    }
+}
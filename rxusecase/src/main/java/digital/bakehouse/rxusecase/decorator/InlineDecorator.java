@@ -0,0 +1,48 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+
+/**
+ * Decorator which is able to decorate the direct, blocking invocation
+ * of synchronous use-cases as well.
+ * When a synchronous use-case is invoked through
+ * {@link digital.bakehouse.rxusecase.RxUseCase#get(Request)} and all its decorators
+ * implement this interface, the operation is called on the calling thread without
+ * creating any observable, and the decorators are applied around the call.
+ * Otherwise the observable stream is created, decorated and blocked on.
+ * <p>
+ * Decorators changing the thread or the timing of the execution, ex. {@link SchedulerDecorator},
+ * should not implement this interface.
+ */
+public interface InlineDecorator extends UseCaseDecorator {
+
+    /**
+     * Decorate the passed invocation with additional functionality.
+     * The decoration should be equivalent to the one applied by
+     * {@link #decorate(io.reactivex.Observable, Request)} on a stream
+     * emitting the response of the invocation.
+     *
+     * @param invocation Invocation to decorate
+     * @param request    Request object
+     * @param <I>        Input type
+     * @param <O>        Output type
+     * @return Response of the decorated invocation
+     */
+    <I, O> Response<O> decorateInline(Invocation<O> invocation, Request<I> request);
+
+    /**
+     * Direct invocation of a synchronous use-case,
+     * possibly already decorated.
+     *
+     * @param <O> Output type
+     */
+    interface Invocation<O> {
+        /**
+         * Invoke the use-case.
+         *
+         * @return Use-case response
+         */
+        Response<O> proceed();
+    }
+}
@@ -0,0 +1,20 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import digital.bakehouse.rxusecase.Request;
+
+/**
+ * Extractor of the key under which decorators group requests,
+ * ex. for sharing executions or caching responses.
+ * NOTE: If the decorator using it is applied globally, the key should take into
+ * account the {@link Request#getOrigin()}, otherwise requests of
+ * different use-cases would get grouped together.
+ */
+public interface KeyExtractor {
+    /**
+     * Extract the key of the request.
+     *
+     * @param request Request object
+     * @return Request key or null if the request should not be grouped
+     */
+    Object extract(Request<?> request);
+}
@@ -1,24 +1,45 @@
 package digital.bakehouse.rxusecase.decorator;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
 import digital.bakehouse.rxusecase.Request;
 import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.Single;
 
 /**
  * Simple log decorator.
  * Useful to enable global logging of all the use-cases.
+ * <p>
+ * Each step of an execution is reported as a {@link LogEvent} having a {@link Level}.
+ * Events below the minimum level, or rejected by the {@link LogSink}, are dropped
+ * before any message is formatted, so the decorator can stay enabled in production
+ * with a restrictive level. Logging can also be disabled or sampled by origin,
+ * see {@link Builder}.
  */
-public final class LogDecorator implements UseCaseDecorator {
+public final class LogDecorator
+        implements FlowableDecorator, SingleDecorator, InlineDecorator {
 
     private static final String DEFAULT_DELIMITER = "~~";
     private static final LogOutput SYSTEM_OUTPUT = System.out::println;
 
-    private final LogOutput logOutput;
+    private final LogSink logSink;
     private final String delimiter;
+    private final Level minimumLevel;
+    private final double sampleRate;
+    private final Map<String, Double> originSampleRates;
 
-    private LogDecorator(LogOutput logOutput, String delimiter) {
-        this.logOutput = logOutput;
-        this.delimiter = delimiter;
+    private LogDecorator(Builder builder) {
+        this.logSink = builder.logSink;
+        this.delimiter = builder.delimiter;
+        this.minimumLevel = builder.minimumLevel;
+        this.sampleRate = builder.sampleRate;
+        this.originSampleRates = new HashMap<>(builder.originSampleRates);
     }
 
     /**
@@ -38,7 +59,7 @@ public final class LogDecorator implements UseCaseDecorator {
      * @return Delimiter logger
      */
     public static LogDecorator getDefault(String delimiter) {
-        return new LogDecorator(SYSTEM_OUTPUT, delimiter);
+        return getWithOutput(SYSTEM_OUTPUT, delimiter);
     }
 
     /**
@@ -62,60 +83,412 @@ public final class LogDecorator implements UseCaseDecorator {
      * @return Delimiter logger
      */
     public static LogDecorator getWithOutput(LogOutput logOutput, String delimiter) {
-        return new LogDecorator(logOutput, delimiter);
+        return newBuilder()
+                .output(logOutput)
+                .delimiter(delimiter)
+                .build();
+    }
+
+    /**
+     * Create a new {@link Builder} instance for configuring
+     * the {@link LogDecorator}.
+     *
+     * @return Builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
     }
 
     @Override
     public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
                                                          Request<I> request) {
-        TimeHolder timeHolder = new TimeHolder();
-        return origin
-                .doOnSubscribe(disposable -> {
-                    timeHolder.initialize();
-                    logAction(request, "Subscribe");
-                })
-                .doOnNext(response -> {
-                    if (response.isSuccessful()) {
-                        logAction(request, "Success = %s", response.getData());
-                    } else {
-                        logAction(request, "Failure = %s", response.getFailure());
-                    }
-                })
-                .doOnError(throwable ->
-                        logAction(request, "Exception = %s", throwable))
-                .doOnComplete(() ->
-                        logAction(request, "Complete"))
-                .doOnTerminate(() ->
-                        logAction(request, "Finish %s Elapsed Time: %sms",
-                                delimiter, timeHolder.diff()))
-                ;
+        double rate = getSampleRate(request.getOrigin());
+        if (rate <= 0) {
+            return origin;
+        }
+        return Observable.defer(() -> {
+            if (!isSampled(rate)) {
+                return origin;
+            }
+            Timing timing = new Timing();
+            return origin
+                    .doOnSubscribe(disposable -> logSubscribe(request, timing))
+                    .doOnNext(response -> logResponse(request, response, timing))
+                    .doOnError(throwable ->
+                            log(request, Phase.EXCEPTION, throwable, timing))
+                    .doOnComplete(() ->
+                            log(request, Phase.COMPLETE, null, timing))
+                    .doOnTerminate(() ->
+                            log(request, Phase.FINISH, null, timing));
+        });
+    }
+
+    @Override
+    public final <I, O> Flowable<Response<O>> decorateFlowable(Flowable<Response<O>> origin,
+                                                               Request<I> request) {
+        double rate = getSampleRate(request.getOrigin());
+        if (rate <= 0) {
+            return origin;
+        }
+        return Flowable.defer(() -> {
+            if (!isSampled(rate)) {
+                return origin;
+            }
+            Timing timing = new Timing();
+            return origin
+                    .doOnSubscribe(subscription -> logSubscribe(request, timing))
+                    .doOnNext(response -> logResponse(request, response, timing))
+                    .doOnError(throwable ->
+                            log(request, Phase.EXCEPTION, throwable, timing))
+                    .doOnComplete(() ->
+                            log(request, Phase.COMPLETE, null, timing))
+                    .doOnTerminate(() ->
+                            log(request, Phase.FINISH, null, timing));
+        });
+    }
+
+    @Override
+    public final <I, O> Single<Response<O>> decorateSingle(Single<Response<O>> origin,
+                                                           Request<I> request) {
+        double rate = getSampleRate(request.getOrigin());
+        if (rate <= 0) {
+            return origin;
+        }
+        return Single.defer(() -> {
+            if (!isSampled(rate)) {
+                return origin;
+            }
+            Timing timing = new Timing();
+            return origin
+                    .doOnSubscribe(disposable -> logSubscribe(request, timing))
+                    .doOnSuccess(response -> {
+                        logResponse(request, response, timing);
+                        log(request, Phase.COMPLETE, null, timing);
+                        log(request, Phase.FINISH, null, timing);
+                    })
+                    .doOnError(throwable -> {
+                        log(request, Phase.EXCEPTION, throwable, timing);
+                        log(request, Phase.FINISH, null, timing);
+                    });
+        });
+    }
+
+    @Override
+    public final <I, O> Response<O> decorateInline(Invocation<O> invocation,
+                                                   Request<I> request) {
+        double rate = getSampleRate(request.getOrigin());
+        if (rate <= 0 || !isSampled(rate)) {
+            return invocation.proceed();
+        }
+        Timing timing = new Timing();
+        logSubscribe(request, timing);
+        Response<O> response;
+        try {
+            response = invocation.proceed();
+        } catch (Throwable throwable) {
+            log(request, Phase.EXCEPTION, throwable, timing);
+            log(request, Phase.FINISH, null, timing);
+            throw throwable;
+        }
+        logResponse(request, response, timing);
+        log(request, Phase.COMPLETE, null, timing);
+        log(request, Phase.FINISH, null, timing);
+        return response;
+    }
+
+    private double getSampleRate(String origin) {
+        Double rate = originSampleRates.get(origin);
+        return rate != null ? rate : sampleRate;
+    }
+
+    private static boolean isSampled(double rate) {
+        return rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private void logSubscribe(Request<?> request, Timing timing) {
+        timing.start();
+        log(request, Phase.SUBSCRIBE, null, timing);
+    }
+
+    private void logResponse(Request<?> request, Response<?> response, Timing timing) {
+        timing.respond();
+        if (response.isSuccessful()) {
+            log(request, Phase.SUCCESS, response.getData(), timing);
+        } else {
+            log(request, Phase.FAILURE, response.getFailure(), timing);
+        }
+    }
+
+    private void log(Request<?> request, Phase phase, Object payload, Timing timing) {
+        Level level = phase.getLevel();
+        if (level.compareTo(minimumLevel) < 0
+                || !logSink.isLoggable(level, request.getOrigin())) {
+            return;
+        }
+        logSink.log(new LogEvent(request, phase, payload, timing, delimiter));
+    }
+
+    /**
+     * Monotonic timing of a single subscription.
+     */
+    private static class Timing {
+        private long startNanos;
+        private long lastResponseNanos;
+        private long gapNanos;
+        private long firstResponseNanos = -1;
+        private long maxGapNanos;
+        private int responses;
+
+        private void start() {
+            startNanos = System.nanoTime();
+            lastResponseNanos = startNanos;
+        }
+
+        private void respond() {
+            long now = System.nanoTime();
+            gapNanos = now - lastResponseNanos;
+            lastResponseNanos = now;
+            if (responses++ == 0) {
+                firstResponseNanos = gapNanos;
+            } else if (gapNanos > maxGapNanos) {
+                maxGapNanos = gapNanos;
+            }
+        }
+
+        private long elapsed() {
+            return System.nanoTime() - startNanos;
+        }
+    }
+
+    /**
+     * Severity of the logged events, in increasing order.
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR
     }
 
-    private void logAction(Request request, String message, Object... arguments) {
-        if (arguments != null && arguments.length > 0) {
-            message = String.format(message, arguments);
+    /**
+     * Step of a use-case execution reported by a {@link LogEvent}.
+     */
+    public enum Phase {
+        SUBSCRIBE(Level.DEBUG),
+        SUCCESS(Level.DEBUG),
+        FAILURE(Level.WARN),
+        EXCEPTION(Level.ERROR),
+        COMPLETE(Level.DEBUG),
+        FINISH(Level.INFO);
+
+        private final Level level;
+
+        Phase(Level level) {
+            this.level = level;
         }
-        String logMessage = String.format("%2$s(%3$s) %1$s %4$s",
-                delimiter,
-                request.getOrigin(),
-                request.getInput(),
-                message);
 
-        logOutput.log(logMessage);
+        public Level getLevel() {
+            return level;
+        }
     }
 
-    private static class TimeHolder {
-        private long timeMillis;
+    /**
+     * Structured log event describing a step of a use-case execution.
+     * Its message is formatted only when first requested through {@link #getMessage()}.
+     */
+    public static final class LogEvent {
+        private final Request<?> request;
+        private final Phase phase;
+        private final Object payload;
+        private final long elapsedNanos;
+        private final long gapNanos;
+        private final long firstResponseNanos;
+        private final long maxGapNanos;
+        private final int responses;
+        private final String delimiter;
+        private String message;
+
+        private LogEvent(Request<?> request, Phase phase, Object payload,
+                         Timing timing, String delimiter) {
+            this.request = request;
+            this.phase = phase;
+            this.payload = payload;
+            this.elapsedNanos = timing.elapsed();
+            this.gapNanos = timing.gapNanos;
+            this.firstResponseNanos = timing.firstResponseNanos;
+            this.maxGapNanos = timing.maxGapNanos;
+            this.responses = timing.responses;
+            this.delimiter = delimiter;
+        }
+
+        public Request<?> getRequest() {
+            return request;
+        }
+
+        public String getOrigin() {
+            return request.getOrigin();
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        public Level getLevel() {
+            return phase.getLevel();
+        }
+
+        /**
+         * Get the object the event reports, depending on its phase:
+         * the response data on {@link Phase#SUCCESS}, the failure on {@link Phase#FAILURE},
+         * the throwable on {@link Phase#EXCEPTION}, null otherwise.
+         *
+         * @return Event payload
+         */
+        public Object getPayload() {
+            return payload;
+        }
+
+        /**
+         * Get the time passed since the subscription to the use-case.
+         *
+         * @return Elapsed time in milliseconds
+         */
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+
+        /**
+         * Get the time passed since the subscription to the use-case,
+         * measured with {@link System#nanoTime()}.
+         *
+         * @return Elapsed time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Get the time passed between the latest response and the one before it,
+         * or the subscription in case of the first response.
+         * Meaningful for {@link Phase#SUCCESS} and {@link Phase#FAILURE} events.
+         *
+         * @return Gap in nanoseconds
+         */
+        public long getGapNanos() {
+            return gapNanos;
+        }
+
+        /**
+         * Get the time passed between the subscription and the first response.
+         *
+         * @return Time in nanoseconds or -1 if there was no response yet
+         */
+        public long getFirstResponseNanos() {
+            return firstResponseNanos;
+        }
+
+        /**
+         * Get the longest time passed between two consecutive responses,
+         * useful for continuous use-cases.
+         *
+         * @return Time in nanoseconds or 0 if there were less than two responses
+         */
+        public long getMaxGapNanos() {
+            return maxGapNanos;
+        }
 
-        private long diff() {
-            return System.currentTimeMillis() - timeMillis;
+        /**
+         * Get the number of responses emitted so far.
+         *
+         * @return Response count
+         */
+        public int getResponseCount() {
+            return responses;
         }
 
-        private void initialize() {
-            timeMillis = System.currentTimeMillis();
+        /**
+         * Get the formatted log message of the event.
+         *
+         * @return Log message
+         */
+        public String getMessage() {
+            if (message == null) {
+                message = format();
+            }
+            return message;
+        }
+
+        private String format() {
+            StringBuilder builder = new StringBuilder()
+                    .append(request.getOrigin())
+                    .append('(').append(request.getInput()).append(") ")
+                    .append(delimiter).append(' ');
+            switch (phase) {
+                case SUBSCRIBE:
+                    return builder.append("Subscribe").toString();
+                case SUCCESS:
+                    return builder.append("Success = ").append(payload).toString();
+                case FAILURE:
+                    return builder.append("Failure = ").append(payload).toString();
+                case EXCEPTION:
+                    return builder.append("Exception = ").append(payload).toString();
+                case COMPLETE:
+                    return builder.append("Complete").toString();
+                default:
+                    builder.append("Finish ").append(delimiter).append(" Elapsed Time: ");
+                    appendMillis(builder, elapsedNanos);
+                    if (responses > 0) {
+                        builder.append(", First Response: ");
+                        appendMillis(builder, firstResponseNanos);
+                    }
+                    if (responses > 1) {
+                        builder.append(", Responses: ").append(responses)
+                                .append(", Max Gap: ");
+                        appendMillis(builder, maxGapNanos);
+                    }
+                    return builder.toString();
+            }
+        }
+
+        private static void appendMillis(StringBuilder builder, long nanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            long fraction = micros % 1000;
+            builder.append(micros / 1000).append('.');
+            if (fraction < 100) {
+                builder.append('0');
+            }
+            if (fraction < 10) {
+                builder.append('0');
+            }
+            builder.append(fraction).append("ms");
+        }
+
+        @Override
+        public String toString() {
+            return getMessage();
         }
     }
 
+    /**
+     * Log sink receiving structured {@link LogEvent}s.
+     * Useful for forwarding the events to logging frameworks.
+     */
+    public interface LogSink {
+        /**
+         * Check whether events of the passed level and origin
+         * should be logged. Called before creating the event.
+         *
+         * @param level  Event level
+         * @param origin Use-case origin
+         * @return True if the event should be passed to {@link #log(LogEvent)}
+         */
+        boolean isLoggable(Level level, String origin);
+
+        /**
+         * Log event.
+         *
+         * @param event Event to log
+         */
+        void log(LogEvent event);
+    }
+
     /**
      * Log output useful for customizing the way
      * messages are logged.
@@ -128,4 +501,146 @@ public final class LogDecorator implements UseCaseDecorator {
          */
         void log(String message);
     }
+
+    private static final class OutputSink implements LogSink {
+        private final LogOutput logOutput;
+
+        private OutputSink(LogOutput logOutput) {
+            this.logOutput = logOutput;
+        }
+
+        @Override
+        public boolean isLoggable(Level level, String origin) {
+            return true;
+        }
+
+        @Override
+        public void log(LogEvent event) {
+            logOutput.log(event.getMessage());
+        }
+    }
+
+    /**
+     * Builder pattern for creating and configuring {@link LogDecorator} objects.
+     */
+    public static class Builder {
+        private LogSink logSink = new OutputSink(SYSTEM_OUTPUT);
+        private String delimiter = DEFAULT_DELIMITER;
+        private Level minimumLevel = Level.DEBUG;
+        private double sampleRate = 1;
+        private final Map<String, Double> originSampleRates = new HashMap<>();
+
+        Builder() {
+        }
+
+        /**
+         * Set the output the formatted messages are logged to.
+         * By default messages are printed to the standard output.
+         *
+         * @param logOutput Output for logging messages
+         * @return This builder
+         */
+        public Builder output(LogOutput logOutput) {
+            Objects.requireNonNull(logOutput, "Log output should not be null!");
+            this.logSink = new OutputSink(logOutput);
+            return this;
+        }
+
+        /**
+         * Set the sink the structured events are logged to.
+         *
+         * @param logSink Sink for logging events
+         * @return This builder
+         */
+        public Builder sink(LogSink logSink) {
+            this.logSink = Objects.requireNonNull(logSink, "Log sink should not be null!");
+            return this;
+        }
+
+        /**
+         * Set the log message delimiter.
+         *
+         * @param delimiter Log message delimiter
+         * @return This builder
+         */
+        public Builder delimiter(String delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Set the minimum level of the logged events.
+         * By default all the events are logged.
+         *
+         * @param minimumLevel Minimum level
+         * @return This builder
+         */
+        public Builder level(Level minimumLevel) {
+            this.minimumLevel = Objects.requireNonNull(minimumLevel,
+                    "Level should not be null!");
+            return this;
+        }
+
+        /**
+         * Set the fraction of executions being logged, for the origins
+         * not configured otherwise. Ex. 0.01 logs about one execution in a hundred.
+         *
+         * @param rate Sample rate, between 0 and 1
+         * @return This builder
+         */
+        public Builder sample(double rate) {
+            this.sampleRate = checkRate(rate);
+            return this;
+        }
+
+        /**
+         * Set the fraction of executions being logged for the passed origin.
+         *
+         * @param origin Use-case origin
+         * @param rate   Sample rate, between 0 and 1
+         * @return This builder
+         */
+        public Builder sample(String origin, double rate) {
+            originSampleRates.put(origin, checkRate(rate));
+            return this;
+        }
+
+        /**
+         * Log all the executions of the passed origin,
+         * regardless of the default sample rate.
+         *
+         * @param origin Use-case origin
+         * @return This builder
+         */
+        public Builder enable(String origin) {
+            return sample(origin, 1);
+        }
+
+        /**
+         * Do not log the executions of the passed origin.
+         *
+         * @param origin Use-case origin
+         * @return This builder
+         */
+        public Builder disable(String origin) {
+            return sample(origin, 0);
+        }
+
+        private static double checkRate(double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Sample rate should be between 0 and 1!");
+            }
+            return rate;
+        }
+
+        /**
+         * Build the {@link LogDecorator} configured with data
+         * passed in the builder methods.
+         *
+         * @return Configured {@link LogDecorator} object
+         */
+        public LogDecorator build() {
+            return new LogDecorator(this);
+        }
+    }
 }
@@ -0,0 +1,316 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.toolbox.Histogram;
+import digital.bakehouse.rxusecase.toolbox.StripedCounter;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+
+/**
+ * Decorator recording metrics of use-cases, grouped by {@link Request#getOrigin()}:
+ * - the number of subscriptions and of the ones currently in flight
+ * - the number of successful and failure responses, the latter by {@link
+ * digital.bakehouse.rxusecase.Failure#getCode()}
+ * - the number of exceptions
+ * - the latency from subscription to the first response or exception
+ * The recorded metrics are retrieved through {@link #snapshot()}.
+ * <p>
+ * Recording uses striped counters and lock-free histograms, so the decorator
+ * is cheap enough to be applied globally in production.
+ */
+public final class MetricsDecorator
+        implements FlowableDecorator, SingleDecorator, InlineDecorator {
+
+    private static final String UNDEFINED = "";
+
+    private final ConcurrentMap<String, OriginMetrics> metrics = new ConcurrentHashMap<>();
+
+    private MetricsDecorator() {
+    }
+
+    /**
+     * Factory method to create a metrics decorator.
+     *
+     * @return Metrics decorator
+     */
+    public static MetricsDecorator create() {
+        return new MetricsDecorator();
+    }
+
+    @Override
+    public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                         Request<I> request) {
+        return Observable.defer(() -> {
+            Execution execution = new Execution(getMetrics(request.getOrigin()));
+            return origin
+                    .doOnSubscribe(disposable -> execution.start())
+                    .doOnNext(execution::respond)
+                    .doOnError(throwable -> execution.fail())
+                    .doFinally(execution::finish);
+        });
+    }
+
+    @Override
+    public final <I, O> Flowable<Response<O>> decorateFlowable(Flowable<Response<O>> origin,
+                                                               Request<I> request) {
+        return Flowable.defer(() -> {
+            Execution execution = new Execution(getMetrics(request.getOrigin()));
+            return origin
+                    .doOnSubscribe(subscription -> execution.start())
+                    .doOnNext(execution::respond)
+                    .doOnError(throwable -> execution.fail())
+                    .doFinally(execution::finish);
+        });
+    }
+
+    @Override
+    public final <I, O> Single<Response<O>> decorateSingle(Single<Response<O>> origin,
+                                                           Request<I> request) {
+        return Single.defer(() -> {
+            Execution execution = new Execution(getMetrics(request.getOrigin()));
+            return origin
+                    .doOnSubscribe(disposable -> execution.start())
+                    .doOnSuccess(execution::respond)
+                    .doOnError(throwable -> execution.fail())
+                    .doFinally(execution::finish);
+        });
+    }
+
+    @Override
+    public final <I, O> Response<O> decorateInline(Invocation<O> invocation,
+                                                   Request<I> request) {
+        Execution execution = new Execution(getMetrics(request.getOrigin()));
+        execution.start();
+        try {
+            Response<O> response = invocation.proceed();
+            execution.respond(response);
+            return response;
+        } catch (Throwable throwable) {
+            execution.fail();
+            throw throwable;
+        } finally {
+            execution.finish();
+        }
+    }
+
+    private OriginMetrics getMetrics(String origin) {
+        String key = origin != null ? origin : UNDEFINED;
+        OriginMetrics result = metrics.get(key);
+        if (result == null) {
+            OriginMetrics created = new OriginMetrics();
+            result = metrics.putIfAbsent(key, created);
+            if (result == null) {
+                result = created;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Take a snapshot of the metrics recorded so far, by origin.
+     *
+     * @return Metric snapshots by origin
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new HashMap<>();
+        for (Map.Entry<String, OriginMetrics> entry : metrics.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Take a snapshot of the metrics recorded so far for the passed origin.
+     *
+     * @param origin Use-case origin
+     * @return Metric snapshot or null if nothing was recorded for the origin
+     */
+    public Snapshot snapshot(String origin) {
+        OriginMetrics originMetrics = metrics.get(origin != null ? origin : UNDEFINED);
+        return originMetrics != null ? originMetrics.snapshot() : null;
+    }
+
+    /**
+     * Clear all the recorded metrics.
+     */
+    public void reset() {
+        metrics.clear();
+    }
+
+    private static final class OriginMetrics {
+        private final StripedCounter subscriptions = new StripedCounter();
+        private final StripedCounter inFlight = new StripedCounter();
+        private final StripedCounter successes = new StripedCounter();
+        private final StripedCounter exceptions = new StripedCounter();
+        private final ConcurrentMap<String, StripedCounter> failures = new ConcurrentHashMap<>();
+        private final Histogram latency = new Histogram();
+
+        private void recordFailure(String code) {
+            String key = code != null ? code : UNDEFINED;
+            StripedCounter counter = failures.get(key);
+            if (counter == null) {
+                StripedCounter created = new StripedCounter();
+                counter = failures.putIfAbsent(key, created);
+                if (counter == null) {
+                    counter = created;
+                }
+            }
+            counter.increment();
+        }
+
+        private Snapshot snapshot() {
+            Map<String, Long> failureCounts = new HashMap<>();
+            for (Map.Entry<String, StripedCounter> entry : failures.entrySet()) {
+                failureCounts.put(entry.getKey(), entry.getValue().sum());
+            }
+            return new Snapshot(subscriptions.sum(), inFlight.sum(), successes.sum(),
+                    Collections.unmodifiableMap(failureCounts), exceptions.sum(),
+                    latency.snapshot());
+        }
+    }
+
+    private static final class Execution {
+        private final OriginMetrics metrics;
+        private long startNanos;
+        private boolean responded;
+
+        private Execution(OriginMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        private void start() {
+            metrics.subscriptions.increment();
+            metrics.inFlight.increment();
+            startNanos = System.nanoTime();
+        }
+
+        private void respond(Response<?> response) {
+            recordLatency();
+            if (response.isSuccessful()) {
+                metrics.successes.increment();
+            } else {
+                metrics.recordFailure(response.getFailure().getCode());
+            }
+        }
+
+        private void fail() {
+            recordLatency();
+            metrics.exceptions.increment();
+        }
+
+        private void finish() {
+            metrics.inFlight.decrement();
+        }
+
+        private void recordLatency() {
+            if (!responded) {
+                responded = true;
+                metrics.latency.record(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    /**
+     * Metrics recorded for an origin.
+     */
+    public static final class Snapshot {
+        private final long subscriptions;
+        private final long inFlight;
+        private final long successes;
+        private final Map<String, Long> failures;
+        private final long exceptions;
+        private final Histogram.Snapshot latency;
+
+        private Snapshot(long subscriptions, long inFlight, long successes,
+                         Map<String, Long> failures, long exceptions,
+                         Histogram.Snapshot latency) {
+            this.subscriptions = subscriptions;
+            this.inFlight = inFlight;
+            this.successes = successes;
+            this.failures = failures;
+            this.exceptions = exceptions;
+            this.latency = latency;
+        }
+
+        public long getSubscriptions() {
+            return subscriptions;
+        }
+
+        public long getInFlight() {
+            return inFlight;
+        }
+
+        public long getSuccesses() {
+            return successes;
+        }
+
+        /**
+         * Get the number of failure responses by failure code.
+         * Failures without a code are counted under an empty code.
+         *
+         * @return Failure counts by code
+         */
+        public Map<String, Long> getFailures() {
+            return failures;
+        }
+
+        /**
+         * Get the total number of failure responses.
+         *
+         * @return Failure count
+         */
+        public long getFailureCount() {
+            long total = 0;
+            for (Long count : failures.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        public long getExceptions() {
+            return exceptions;
+        }
+
+        /**
+         * Get the latency histogram, in nanoseconds.
+         * Useful for merging the latencies of several origins.
+         *
+         * @return Latency histogram
+         */
+        public Histogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        /**
+         * Get the latency below which the passed percentage of executions fall.
+         *
+         * @param percentile Percentile, between 0 and 100. Ex. 50, 99, 99.9
+         * @return Latency in nanoseconds
+         */
+        public long getLatencyNanos(double percentile) {
+            return latency.getValueAtPercentile(percentile);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "subscriptions=" + subscriptions +
+                    ", inFlight=" + inFlight +
+                    ", successes=" + successes +
+                    ", failures=" + failures +
+                    ", exceptions=" + exceptions +
+                    ", p50=" + getLatencyNanos(50) +
+                    "ns, p99=" + getLatencyNanos(99) +
+                    "ns, p999=" + getLatencyNanos(99.9) +
+                    "ns}";
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Decorator limiting the rate at which use-cases are executed,
+ * ex. for calling metered third-party APIs.
+ * Each execution takes a permit when subscribed to, from a token bucket holding
+ * up to the configured burst of permits and refilled at the configured rate.
+ * By default there is a bucket for each {@link Request#getOrigin()},
+ * a {@link KeyExtractor} can be passed to customize this.
+ * <p>
+ * When no permit is available, the execution is either rejected by emitting the
+ * {@link #REJECTION} failure response (the default), or its subscription is delayed
+ * on the computation scheduler until the permit becomes available, without blocking any thread.
+ * Delayed executions disposed before starting give their permit back.
+ * <p>
+ * The buckets are lock-free, implemented with the generic cell rate algorithm
+ * which keeps a single timestamp per bucket.
+ */
+public final class RateLimitDecorator implements UseCaseDecorator {
+
+    /**
+     * Code of the failure emitted by rejected executions.
+     */
+    public static final String REJECTION_CODE = "RATE_LIMITED";
+
+    /**
+     * Failure emitted by rejected executions.
+     */
+    public static final Failure REJECTION = new Failure(REJECTION_CODE,
+            "Rate limit exceeded!");
+
+    private final KeyExtractor keyExtractor;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int burst;
+    private final long maxDelayNanos;
+    private final Scheduler clock;
+    private final Scheduler scheduler;
+    private final ConcurrentMap<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private RateLimitDecorator(Builder builder) {
+        keyExtractor = builder.keyExtractor;
+        intervalNanos = Math.max(1, builder.periodNanos / builder.permits);
+        burst = builder.burst > 0 ? builder.burst : builder.permits;
+        toleranceNanos = burst * intervalNanos;
+        maxDelayNanos = builder.maxDelayNanos;
+        clock = builder.clock;
+        scheduler = clock != null ? clock : Schedulers.computation();
+    }
+
+    /**
+     * Create a new {@link Builder} instance for configuring
+     * the {@link RateLimitDecorator}.
+     *
+     * @param permits Number of executions allowed per period
+     * @param period  Period duration
+     * @param unit    Period time unit
+     * @return Builder instance
+     */
+    public static Builder newBuilder(int permits, long period, TimeUnit unit) {
+        return new Builder(permits, period, unit);
+    }
+
+    @Override
+    public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                         Request<I> request) {
+        Object key = keyExtractor.extract(request);
+        if (key == null) {
+            return origin;
+        }
+        AtomicLong bucket = getBucket(key);
+        return Observable.defer(() -> {
+            long delay = acquire(bucket);
+            if (delay < 0) {
+                rejectedCount.incrementAndGet();
+                return Observable.just(Response.<O>fail(REJECTION));
+            }
+            if (delay == 0) {
+                return origin;
+            }
+            AtomicBoolean started = new AtomicBoolean();
+            return origin.doOnSubscribe(ignored -> started.set(true))
+                    .delaySubscription(delay, TimeUnit.NANOSECONDS, scheduler)
+                    .doOnDispose(() -> {
+                        if (started.compareAndSet(false, true)) {
+                            release(bucket);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Take a permit from the bucket.
+     *
+     * @return Delay until the permit is available or -1 if it is rejected
+     */
+    private long acquire(AtomicLong bucket) {
+        long now = now();
+        while (true) {
+            long arrival = bucket.get();
+            long nextArrival = Math.max(arrival, now) + intervalNanos;
+            long delay = nextArrival - toleranceNanos - now;
+            if (delay > maxDelayNanos) {
+                return -1;
+            }
+            if (bucket.compareAndSet(arrival, nextArrival)) {
+                return Math.max(0, delay);
+            }
+        }
+    }
+
+    /**
+     * Give back a permit taken from the bucket, which was not used.
+     */
+    private void release(AtomicLong bucket) {
+        bucket.addAndGet(-intervalNanos);
+    }
+
+    private AtomicLong getBucket(Object key) {
+        AtomicLong result = buckets.get(key);
+        if (result == null) {
+            AtomicLong created = new AtomicLong(Long.MIN_VALUE / 2);
+            result = buckets.putIfAbsent(key, created);
+            if (result == null) {
+                result = created;
+            }
+        }
+        return result;
+    }
+
+    private long now() {
+        return clock != null ? clock.now(TimeUnit.NANOSECONDS) : System.nanoTime();
+    }
+
+    /**
+     * Get the number of permits currently available for the passed key,
+     * by default the use-case origin.
+     *
+     * @param key Bucket key
+     * @return Available permits
+     */
+    public int getAvailablePermits(Object key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            return burst;
+        }
+        long now = now();
+        long available = (now + toleranceNanos - Math.max(bucket.get(), now)) / intervalNanos;
+        return (int) Math.max(0, Math.min(burst, available));
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Builder pattern for creating and configuring {@link RateLimitDecorator} objects.
+     */
+    public static class Builder {
+        private final int permits;
+        private final long periodNanos;
+        private int burst;
+        private long maxDelayNanos;
+        private KeyExtractor keyExtractor = Request::getOrigin;
+        private Scheduler clock;
+
+        Builder(int permits, long period, TimeUnit unit) {
+            if (permits <= 0 || period <= 0) {
+                throw new IllegalArgumentException("Permits and period should be positive!");
+            }
+            this.permits = permits;
+            this.periodNanos = unit.toNanos(period);
+        }
+
+        /**
+         * Set the maximum number of executions allowed at once,
+         * after a period without executions. By default it is the number
+         * of permits per period.
+         *
+         * @param burst Bucket capacity
+         * @return This builder
+         */
+        public Builder burst(int burst) {
+            if (burst <= 0) {
+                throw new IllegalArgumentException("Burst should be positive!");
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Reject the executions for which no permit is available.
+         * This is the default behaviour.
+         *
+         * @return This builder
+         */
+        public Builder reject() {
+            this.maxDelayNanos = 0;
+            return this;
+        }
+
+        /**
+         * Delay the executions for which no permit is available,
+         * until one becomes available.
+         *
+         * @return This builder
+         */
+        public Builder delay() {
+            this.maxDelayNanos = Long.MAX_VALUE;
+            return this;
+        }
+
+        /**
+         * Delay the executions for which no permit is available,
+         * if one becomes available within the passed time. Otherwise reject them.
+         *
+         * @param maxDelay Maximum delay
+         * @param unit     Time unit
+         * @return This builder
+         */
+        public Builder delay(long maxDelay, TimeUnit unit) {
+            this.maxDelayNanos = unit.toNanos(maxDelay);
+            return this;
+        }
+
+        /**
+         * Set the extractor of the keys executions are limited by.
+         * Requests for which the extractor returns a null key are not limited.
+         *
+         * @param keyExtractor Request key extractor
+         * @return This builder
+         */
+        public Builder keyExtractor(KeyExtractor keyExtractor) {
+            this.keyExtractor = Objects.requireNonNull(keyExtractor,
+                    "Key extractor should not be null!");
+            return this;
+        }
+
+        /**
+         * Set the scheduler whose clock is used for refilling the buckets,
+         * and which delayed executions are subscribed on, ex. for testing.
+         * By default {@link System#nanoTime()} is used, and the computation scheduler.
+         *
+         * @param clock Time source
+         * @return This builder
+         */
+        public Builder clock(Scheduler clock) {
+            this.clock = Objects.requireNonNull(clock, "Clock should not be null!");
+            return this;
+        }
+
+        /**
+         * Build the {@link RateLimitDecorator} configured with data
+         * passed in the builder methods.
+         *
+         * @return Configured {@link RateLimitDecorator} object
+         */
+        public RateLimitDecorator build() {
+            return new RateLimitDecorator(this);
+        }
+    }
+}
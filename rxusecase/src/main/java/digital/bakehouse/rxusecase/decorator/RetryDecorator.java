@@ -0,0 +1,398 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import digital.bakehouse.rxusecase.Deadline;
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import digital.bakehouse.rxusecase.toolbox.TokenBudget;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Decorator re-subscribing to use-cases which fail with transient errors.
+ * An execution is retried when, before emitting any successful response, it:
+ * - emits a failure response having one of the codes passed to {@link Builder#retryOn(String...)}
+ * - emits an exception of one of the types passed to {@link Builder#retryOn(Class[])},
+ * or any exception if neither codes nor types are configured
+ * - emits an exception mapped by the {@link Builder#exceptionMapper(FailureConverter.Mapper)}
+ * to a failure having one of the configured codes
+ * <p>
+ * Retries are delayed with exponential backoff and random jitter, on timers of the
+ * configured scheduler, so no thread sleeps between attempts. Once the attempts are
+ * exhausted, the last failure response or exception is emitted downstream.
+ * <p>
+ * Executions are not retried if the delay would exceed their request {@link Deadline}.
+ * Retries are also limited by a {@link Budget}, by default the {@link Budget#global()} one
+ * shared by all the decorators of the process, so that retrying during a partial outage
+ * cannot multiply the load on the failing dependencies.
+ */
+public final class RetryDecorator implements UseCaseDecorator {
+
+    private final int maxRetries;
+    private final long initialDelayNanos;
+    private final double multiplier;
+    private final long maxDelayNanos;
+    private final double jitter;
+    private final Set<String> failureCodes;
+    private final List<Class<? extends Throwable>> exceptionTypes;
+    private final FailureConverter.Mapper exceptionMapper;
+    private final Budget budget;
+    private final Scheduler scheduler;
+    private final AtomicLong retryCount = new AtomicLong();
+
+    private RetryDecorator(Builder builder) {
+        maxRetries = builder.maxRetries;
+        initialDelayNanos = builder.initialDelayNanos;
+        multiplier = builder.multiplier;
+        maxDelayNanos = builder.maxDelayNanos;
+        jitter = builder.jitter;
+        failureCodes = new HashSet<>(builder.failureCodes);
+        exceptionTypes = new ArrayList<>(builder.exceptionTypes);
+        exceptionMapper = builder.exceptionMapper;
+        budget = builder.budget;
+        scheduler = builder.scheduler;
+    }
+
+    /**
+     * Create a new {@link Builder} instance for configuring
+     * the {@link RetryDecorator}.
+     *
+     * @return Builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public final <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                         Request<I> request) {
+        return Observable.defer(() -> {
+            Execution execution = new Execution(request.getDeadline());
+            budget.deposit();
+            return origin
+                    .map(execution::check)
+                    .retryWhen(errors -> errors.flatMap(execution::schedule))
+                    .onErrorResumeNext((Throwable throwable) -> RetryDecorator.<O>unwrap(throwable));
+        });
+    }
+
+    private static <O> Observable<Response<O>> unwrap(Throwable throwable) {
+        if (throwable instanceof RetrySignal) {
+            @SuppressWarnings("unchecked")
+            Response<O> response = (Response<O>) ((RetrySignal) throwable).response;
+            return Observable.just(response);
+        }
+        return Observable.error(throwable);
+    }
+
+    private boolean isRetryable(Throwable throwable) {
+        if (throwable instanceof RetrySignal) {
+            return true;
+        }
+        for (Class<? extends Throwable> type : exceptionTypes) {
+            if (type.isInstance(throwable)) {
+                return true;
+            }
+        }
+        if (exceptionMapper != null) {
+            Failure failure = exceptionMapper.map(throwable);
+            if (failure != null && failureCodes.contains(failure.getCode())) {
+                return true;
+            }
+        }
+        return exceptionTypes.isEmpty() && failureCodes.isEmpty();
+    }
+
+    /**
+     * Compute the delay before the passed retry, growing exponentially
+     * and reduced by a random amount of up to the jitter fraction.
+     */
+    private long delayOf(int retry) {
+        double delay = initialDelayNanos * Math.pow(multiplier, retry - 1);
+        delay = Math.min(delay, maxDelayNanos);
+        if (jitter > 0) {
+            delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) delay;
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * State of a single execution, across its attempts.
+     */
+    private final class Execution {
+        private final Deadline deadline;
+        private volatile boolean responded;
+        private int retries;
+
+        private Execution(Deadline deadline) {
+            this.deadline = deadline;
+        }
+
+        private <O> Response<O> check(Response<O> response) {
+            if (!responded && !response.isSuccessful()
+                    && failureCodes.contains(response.getFailure().getCode())) {
+                throw new RetrySignal(response);
+            }
+            responded = true;
+            return response;
+        }
+
+        private Observable<Long> schedule(Throwable throwable) {
+            if (responded || retries >= maxRetries || !isRetryable(throwable)) {
+                return Observable.error(throwable);
+            }
+            long delay = delayOf(retries + 1);
+            if (deadline != null && deadline.getRemaining(TimeUnit.NANOSECONDS) <= delay
+                    || !budget.withdraw()) {
+                return Observable.error(throwable);
+            }
+            retries++;
+            retryCount.incrementAndGet();
+            return Observable.timer(delay, TimeUnit.NANOSECONDS, scheduler);
+        }
+    }
+
+    /**
+     * Error signalling a retryable failure response through the stream,
+     * which is emitted back as response if not retried.
+     */
+    private static final class RetrySignal extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final Response<?> response;
+
+        private RetrySignal(Response<?> response) {
+            this.response = response;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Budget of retries, allowing them as a fraction of the executions.
+     * Each execution deposits the ratio in the budget, while each retry withdraws
+     * one from it, and is not done when the budget has less.
+     * The balance never exceeds the maximum, which is also the initial one,
+     * so that the budget allows some retries when executions are few.
+     */
+    public static final class Budget {
+        private static final Budget GLOBAL = create(0.1, 100);
+
+        private final TokenBudget tokens;
+
+        private Budget(double ratio, int maxRetries) {
+            this.tokens = new TokenBudget(ratio, maxRetries);
+        }
+
+        /**
+         * Create a retry budget.
+         *
+         * @param ratio      Retries allowed per execution
+         * @param maxRetries Maximum retries that can be accumulated
+         * @return Retry budget
+         */
+        public static Budget create(double ratio, int maxRetries) {
+            return new Budget(ratio, maxRetries);
+        }
+
+        /**
+         * Get the budget shared by default by all the retry decorators,
+         * allowing retries for 10% of the executions and accumulating up to 100 of them.
+         *
+         * @return Process-wide retry budget
+         */
+        public static Budget global() {
+            return GLOBAL;
+        }
+
+        private void deposit() {
+            tokens.deposit();
+        }
+
+        private boolean withdraw() {
+            return tokens.withdraw();
+        }
+
+        /**
+         * Get the number of retries currently allowed by the budget.
+         *
+         * @return Available retries
+         */
+        public int getAvailableRetries() {
+            return tokens.getAvailable();
+        }
+    }
+
+    /**
+     * Builder pattern for creating and configuring {@link RetryDecorator} objects.
+     */
+    public static class Builder {
+        private static final int DEFAULT_MAX_RETRIES = 3;
+        private static final long DEFAULT_INITIAL_DELAY_MILLIS = 100;
+        private static final double DEFAULT_MULTIPLIER = 2;
+        private static final long DEFAULT_MAX_DELAY_SECONDS = 10;
+        private static final double DEFAULT_JITTER = 0.5;
+
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+        private long initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_INITIAL_DELAY_MILLIS);
+        private double multiplier = DEFAULT_MULTIPLIER;
+        private long maxDelayNanos = TimeUnit.SECONDS.toNanos(DEFAULT_MAX_DELAY_SECONDS);
+        private double jitter = DEFAULT_JITTER;
+        private final Set<String> failureCodes = new HashSet<>();
+        private final List<Class<? extends Throwable>> exceptionTypes = new ArrayList<>();
+        private FailureConverter.Mapper exceptionMapper;
+        private Budget budget = Budget.global();
+        private Scheduler scheduler = Schedulers.computation();
+
+        Builder() {
+        }
+
+        /**
+         * Set the maximum number of retries of an execution. By default 3.
+         *
+         * @param maxRetries Maximum retries
+         * @return This builder
+         */
+        public Builder maxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("Maximum retries should not be negative!");
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Set the backoff between retries: the delay before the first one, and the
+         * multiplier of the delay for each of the following ones. By default the delay
+         * is 100 milliseconds and it is doubled for each retry.
+         *
+         * @param initialDelay Delay before the first retry
+         * @param unit         Time unit
+         * @param multiplier   Delay multiplier
+         * @return This builder
+         */
+        public Builder backoff(long initialDelay, TimeUnit unit, double multiplier) {
+            if (initialDelay < 0 || multiplier < 1) {
+                throw new IllegalArgumentException("Backoff should not decrease!");
+            }
+            this.initialDelayNanos = unit.toNanos(initialDelay);
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Set the maximum delay between retries. By default 10 seconds.
+         *
+         * @param maxDelay Maximum delay
+         * @param unit     Time unit
+         * @return This builder
+         */
+        public Builder maxDelay(long maxDelay, TimeUnit unit) {
+            this.maxDelayNanos = unit.toNanos(maxDelay);
+            return this;
+        }
+
+        /**
+         * Set the maximum fraction, between 0 and 1, by which delays are randomly reduced,
+         * so that executions failing together are not retried together. By default 0.5.
+         *
+         * @param jitter Jitter fraction
+         * @return This builder
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("Jitter should be in [0, 1]!");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Retry the executions failing with one of the passed failure codes.
+         *
+         * @param codes Failure codes
+         * @return This builder
+         */
+        public Builder retryOn(String... codes) {
+            failureCodes.addAll(Arrays.asList(codes));
+            return this;
+        }
+
+        /**
+         * Retry the executions emitting exceptions of one of the passed types.
+         *
+         * @param types Exception types
+         * @return This builder
+         */
+        @SafeVarargs
+        public final Builder retryOn(Class<? extends Throwable>... types) {
+            for (Class<? extends Throwable> type : types) {
+                exceptionTypes.add(type);
+            }
+            return this;
+        }
+
+        /**
+         * Set the mapper of exceptions to failures, the same as the one of
+         * {@link FailureConverter#get(FailureConverter.Mapper)}, so that exceptions are
+         * retried if mapped to failures having one of the retried codes.
+         *
+         * @param exceptionMapper Exception mapper
+         * @return This builder
+         */
+        public Builder exceptionMapper(FailureConverter.Mapper exceptionMapper) {
+            this.exceptionMapper = exceptionMapper;
+            return this;
+        }
+
+        /**
+         * Set the budget limiting the retries. By default the {@link Budget#global()} one.
+         *
+         * @param budget Retry budget
+         * @return This builder
+         */
+        public Builder budget(Budget budget) {
+            this.budget = Objects.requireNonNull(budget, "Budget should not be null!");
+            return this;
+        }
+
+        /**
+         * Set the scheduler the delays between retries are timed on.
+         *
+         * @param scheduler Timer scheduler
+         * @return This builder
+         */
+        public Builder scheduler(Scheduler scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler, "Scheduler should not be null!");
+            return this;
+        }
+
+        /**
+         * Build the {@link RetryDecorator} configured with data
+         * passed in the builder methods.
+         *
+         * @return Configured {@link RetryDecorator} object
+         */
+        public RetryDecorator build() {
+            return new RetryDecorator(this);
+        }
+    }
+}
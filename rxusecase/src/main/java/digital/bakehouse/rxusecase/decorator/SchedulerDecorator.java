@@ -2,8 +2,11 @@ package digital.bakehouse.rxusecase.decorator;
 
 import digital.bakehouse.rxusecase.Request;
 import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.toolbox.VirtualThreads;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import io.reactivex.Scheduler;
+import io.reactivex.Single;
 
 /**
  * Decorator taking care of applying thread specifications
@@ -11,7 +14,7 @@ import io.reactivex.Scheduler;
  * Useful especially when a threading strategy is defined
  * globally for all the use-cases.
  */
-public final class SchedulerDecorator implements UseCaseDecorator {
+public final class SchedulerDecorator implements FlowableDecorator, SingleDecorator {
 
     private Scheduler subscribeScheduler;
     private Scheduler observeScheduler;
@@ -43,6 +46,22 @@ public final class SchedulerDecorator implements UseCaseDecorator {
         return scheduleOn(scheduler, null);
     }
 
+    /**
+     * Factory method to create a decorator executing each use-case
+     * on its own virtual thread.
+     * Useful for use-cases doing blocking operations, as it allows
+     * running many of them concurrently without the memory cost of
+     * platform threads.
+     * <p>
+     * See {@link VirtualThreads} for reference.
+     *
+     * @return Decorator
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads
+     */
+    public static SchedulerDecorator subscribeOnVirtualThreads() {
+        return subscribeOn(VirtualThreads.scheduler());
+    }
+
     /**
      * Factory method to create a decorator using the passed
      * scheduler for use-case notifying operations.
@@ -80,4 +99,32 @@ public final class SchedulerDecorator implements UseCaseDecorator {
 
         return origin;
     }
+
+    @Override
+    public final <I, O> Flowable<Response<O>> decorateFlowable(Flowable<Response<O>> origin,
+                                                               Request<I> request) {
+        if (subscribeScheduler != null) {
+            origin = origin.subscribeOn(subscribeScheduler);
+        }
+
+        if (observeScheduler != null) {
+            origin = origin.observeOn(observeScheduler);
+        }
+
+        return origin;
+    }
+
+    @Override
+    public final <I, O> Single<Response<O>> decorateSingle(Single<Response<O>> origin,
+                                                           Request<I> request) {
+        if (subscribeScheduler != null) {
+            origin = origin.subscribeOn(subscribeScheduler);
+        }
+
+        if (observeScheduler != null) {
+            origin = origin.observeOn(observeScheduler);
+        }
+
+        return origin;
+    }
 }
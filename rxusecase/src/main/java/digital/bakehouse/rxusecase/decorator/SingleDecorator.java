@@ -0,0 +1,31 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import io.reactivex.Single;
+import io.reactivex.annotations.NonNull;
+
+/**
+ * Decorator of use-case observables which is able to decorate their
+ * one-shot {@link Single} variants as well.
+ * Decorators not implementing this interface are still applied
+ * to {@link Single} streams, by converting them into observables and
+ * taking the first emitted item back.
+ * <p>
+ * See {@link digital.bakehouse.rxusecase.RxUseCase#createSingle(Request)} for reference.
+ */
+public interface SingleDecorator extends UseCaseDecorator {
+
+    /**
+     * Decorate the passed single stream with additional functionality.
+     *
+     * @param origin  Single stream to decorate
+     * @param request Request object
+     * @param <I>     Input type
+     * @param <O>     Output type
+     * @return Decorated single stream
+     */
+    @NonNull
+    <I, O> Single<Response<O>> decorateSingle(Single<Response<O>> origin,
+                                              Request<I> request);
+}
@@ -9,6 +9,14 @@ import io.reactivex.annotations.NonNull;
  * Decorator of use-case observables.
  * Can be added globally for all use-cases or locally for a specific use-case.
  * Can be used to add filtering, retry mechanism, caching, threading, logging etc. to the use-cases.
+ * <p>
+ * Decoration happens once, when the use-case observable is created by
+ * {@link digital.bakehouse.rxusecase.RxUseCase#create(Request)} and its variants,
+ * and not for each of its subscriptions.
+ * NOTE: Earlier versions decorated the observable again on every subscription.
+ * Decorators keeping state per execution, ex. a start time or an attempt counter,
+ * are shared by all the subscriptions of a created observable, so they should create
+ * that state using {@link Observable#defer(java.util.concurrent.Callable)}.
  */
 public interface UseCaseDecorator {
 
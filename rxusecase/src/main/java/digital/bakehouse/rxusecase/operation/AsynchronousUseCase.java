@@ -3,6 +3,7 @@ package digital.bakehouse.rxusecase.operation;
 import digital.bakehouse.rxusecase.Response;
 import digital.bakehouse.rxusecase.RxUseCase;
 import io.reactivex.Observable;
+import io.reactivex.Single;
 
 /**
  * Abstraction for use-cases that represent an asynchronous operation
@@ -19,4 +20,9 @@ public abstract class AsynchronousUseCase<I, O> extends RxUseCase<I, O>
     protected final Observable<Response<O>> execute(I input) {
         return toRx(this, input);
     }
+
+    @Override
+    protected final Single<Response<O>> executeSingle(I input) {
+        return toSingle(this, input);
+    }
 }
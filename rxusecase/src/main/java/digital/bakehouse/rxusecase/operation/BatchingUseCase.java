@@ -0,0 +1,205 @@
+package digital.bakehouse.rxusecase.operation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import digital.bakehouse.rxusecase.toolbox.Objects;
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.observers.DisposableObserver;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Abstraction for use-cases whose executions are merged into bulk operations.
+ * The inputs of all the executions started (subscribed to) within a window
+ * are collected and passed at once to {@link #executeBatch(List)}.
+ * A window closes when it collects the maximum number of items or when
+ * the maximum delay since its first item passes, whichever comes first.
+ * Each execution emits its own {@link Response}, taken from the batch result
+ * by the position of its input.
+ * If the batch fails, all the executions in it fail with the same error.
+ * The bulk operation is disposed once all the executions in it are disposed.
+ *
+ * @param <I> Input type
+ * @param <O> Output type
+ */
+public abstract class BatchingUseCase<I, O> extends RxUseCase<I, O> {
+
+    private final int maxItems;
+    private final long maxDelay;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    private final Object lock = new Object();
+    private Batch<I, O> pending;
+
+    /**
+     * Create a batching use-case whose windows are timed
+     * on the computation scheduler.
+     *
+     * @param maxItems Maximum number of items in a batch
+     * @param maxDelay Maximum delay of an item
+     * @param unit     Delay time unit
+     */
+    protected BatchingUseCase(int maxItems, long maxDelay, TimeUnit unit) {
+        this(maxItems, maxDelay, unit, Schedulers.computation());
+    }
+
+    /**
+     * Create a batching use-case.
+     *
+     * @param maxItems  Maximum number of items in a batch
+     * @param maxDelay  Maximum delay of an item
+     * @param unit      Delay time unit
+     * @param scheduler Scheduler timing the windows
+     */
+    protected BatchingUseCase(int maxItems, long maxDelay, TimeUnit unit, Scheduler scheduler) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("Maximum number of items should be positive!");
+        }
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("Maximum delay should not be negative!");
+        }
+        this.maxItems = maxItems;
+        this.maxDelay = maxDelay;
+        this.unit = Objects.requireNonNull(unit, "Time unit should not be null!");
+        this.scheduler = Objects.requireNonNull(scheduler, "Scheduler should not be null!");
+    }
+
+    /**
+     * Create the bulk operation observable for the collected inputs.
+     * The first list it emits should contain a {@link Response} for each
+     * of the inputs, in the same order as the inputs.
+     *
+     * @param inputs Use-case inputs
+     * @return Observable stream
+     */
+    protected abstract Observable<List<Response<O>>> executeBatch(List<I> inputs);
+
+    @Override
+    protected final Observable<Response<O>> execute(I input) {
+        return safeCreate(emitter -> enqueue(input, emitter));
+    }
+
+    private void enqueue(I input, ObservableEmitter<Response<O>> emitter) {
+        Batch<I, O> full = null;
+        synchronized (lock) {
+            if (pending == null) {
+                Batch<I, O> batch = new Batch<>();
+                pending = batch;
+                batch.timer = scheduler.scheduleDirect(() -> flush(batch), maxDelay, unit);
+            }
+            pending.inputs.add(input);
+            pending.emitters.add(emitter);
+            if (pending.inputs.size() >= maxItems) {
+                full = pending;
+                pending = null;
+            }
+        }
+
+        if (full != null) {
+            full.timer.dispose();
+            dispatch(full);
+        }
+    }
+
+    private void flush(Batch<I, O> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch<I, O> batch) {
+        List<I> inputs = new ArrayList<>(batch.inputs.size());
+        List<ObservableEmitter<Response<O>>> emitters = new ArrayList<>(batch.inputs.size());
+        for (int i = 0; i < batch.inputs.size(); i++) {
+            ObservableEmitter<Response<O>> emitter = batch.emitters.get(i);
+            if (!emitter.isDisposed()) {
+                inputs.add(batch.inputs.get(i));
+                emitters.add(emitter);
+            }
+        }
+        if (inputs.isEmpty()) {
+            return;
+        }
+
+        Observable<List<Response<O>>> result;
+        try {
+            result = executeBatch(inputs);
+        } catch (Throwable throwable) {
+            fail(emitters, throwable);
+            return;
+        }
+        BatchObserver<O> observer = new BatchObserver<>(emitters);
+        AtomicInteger remaining = new AtomicInteger(emitters.size());
+        for (ObservableEmitter<Response<O>> emitter : emitters) {
+            emitter.setCancellable(() -> {
+                if (remaining.decrementAndGet() == 0) {
+                    observer.dispose();
+                }
+            });
+        }
+        result.take(1).subscribe(observer);
+    }
+
+    /**
+     * Observer of a bulk operation, emitting its responses to the executions.
+     */
+    private static final class BatchObserver<O> extends DisposableObserver<List<Response<O>>> {
+        private final List<ObservableEmitter<Response<O>>> emitters;
+        private boolean received;
+
+        private BatchObserver(List<ObservableEmitter<Response<O>>> emitters) {
+            this.emitters = emitters;
+        }
+
+        @Override
+        public void onNext(List<Response<O>> responses) {
+            received = true;
+            if (responses.size() != emitters.size()) {
+                fail(emitters, new IllegalStateException("Batch of " + emitters.size()
+                        + " inputs responded with " + responses.size() + " items!"));
+                return;
+            }
+            for (int i = 0; i < emitters.size(); i++) {
+                emitters.get(i).onNext(responses.get(i));
+                emitters.get(i).onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(emitters, throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!received) {
+                fail(emitters, new IllegalStateException("Batch completed without responses!"));
+            }
+        }
+    }
+
+    private static <O> void fail(List<ObservableEmitter<Response<O>>> emitters,
+                                 Throwable throwable) {
+        for (ObservableEmitter<Response<O>> emitter : emitters) {
+            emitter.onError(throwable);
+        }
+    }
+
+    private static final class Batch<I, O> {
+        private final List<I> inputs = new ArrayList<>();
+        private final List<ObservableEmitter<Response<O>>> emitters = new ArrayList<>();
+        private Disposable timer;
+    }
+}
@@ -1,7 +1,9 @@
 package digital.bakehouse.rxusecase.operation;
 
+import digital.bakehouse.rxusecase.Backpressure;
 import digital.bakehouse.rxusecase.Response;
 import digital.bakehouse.rxusecase.RxUseCase;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
 
 /**
@@ -11,6 +13,8 @@ import io.reactivex.Observable;
  * {@link Continuous.Notifier} respective methods.
  * When its {@link Observable} is being un-subscribed from, the
  * {@link Continuous.Notifier#cancel(Object)} method will get invoked.
+ * Fast producers should be consumed through the backpressured
+ * {@link RxUseCase#createFlowable(digital.bakehouse.rxusecase.Request, Backpressure)} streams.
  *
  * @param <I> Input type
  * @param <O> Output type
@@ -22,4 +26,9 @@ public abstract class ContinuousUseCase<I, O> extends RxUseCase<I, O>
     protected final Observable<Response<O>> execute(I input) {
         return toRx(this, input);
     }
+
+    @Override
+    protected final Flowable<Response<O>> executeFlowable(I input, Backpressure backpressure) {
+        return toFlowable(this, input, backpressure);
+    }
 }
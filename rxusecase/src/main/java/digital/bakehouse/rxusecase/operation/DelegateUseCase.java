@@ -16,6 +16,7 @@ import io.reactivex.Observable;
 public class DelegateUseCase<I, O> extends RxUseCase<I, O> {
 
     private RxSource<I, O> delegate;
+    private Immediate<I, O> immediate;
 
     /**
      * Create a delegating use-case.
@@ -27,8 +28,27 @@ public class DelegateUseCase<I, O> extends RxUseCase<I, O> {
         this.delegate = delegate;
     }
 
+    /**
+     * Create a delegating use-case whose source observable synchronously emits
+     * the single {@link Response} of the passed operation.
+     * See {@link RxUseCase#asImmediate()} for reference.
+     *
+     * @param delegate  Holder of source observable
+     * @param immediate Operation equivalent to the source observable
+     */
+    public DelegateUseCase(RxSource<I, O> delegate, Immediate<I, O> immediate) {
+        this(delegate);
+        Objects.requireNonNull(immediate, "Immediate operation cannot be null!");
+        this.immediate = immediate;
+    }
+
     @Override
     protected Observable<Response<O>> execute(I input) {
         return delegate.getObservable(input);
     }
+
+    @Override
+    protected Immediate<I, O> asImmediate() {
+        return immediate;
+    }
 }
@@ -0,0 +1,25 @@
+package digital.bakehouse.rxusecase.operation;
+
+import digital.bakehouse.rxusecase.Response;
+
+/**
+ * Abstraction for synchronous operations which respond
+ * with a {@link Response} directly.
+ * Unlike {@link Synchronous} operations, they signal expected failures
+ * by returning a failure {@link Response} instead of throwing an exception,
+ * which makes them cheaper for operations that fail often, ex. validations.
+ *
+ * @param <I> Input type
+ * @param <O> Output type
+ */
+public interface Immediate<I, O> {
+
+    /**
+     * Entry point for the logic/action/mechanism this operation
+     * represents.
+     *
+     * @param input Operation input
+     * @return Operation response, never null
+     */
+    Response<O> act(I input);
+}
@@ -0,0 +1,27 @@
+package digital.bakehouse.rxusecase.operation;
+
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import io.reactivex.Observable;
+
+/**
+ * Abstraction for use-cases that represent a synchronous operation
+ * which starts when its {@link Observable} is being subscribed to
+ * and completes emitting the {@link Response} returned by the wrapped
+ * {@link Immediate#act(Object)} method.
+ *
+ * @param <I> Input type
+ * @param <O> Output type
+ */
+public abstract class ImmediateUseCase<I, O> extends RxUseCase<I, O>
+        implements Immediate<I, O> {
+    @Override
+    protected final Observable<Response<O>> execute(I input) {
+        return toRxImmediate(this, input);
+    }
+
+    @Override
+    protected final Immediate<I, O> asImmediate() {
+        return this;
+    }
+}
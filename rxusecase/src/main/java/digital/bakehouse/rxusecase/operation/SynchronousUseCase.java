@@ -16,8 +16,16 @@ import io.reactivex.Observable;
  */
 public abstract class SynchronousUseCase<I, O> extends RxUseCase<I, O>
         implements Synchronous<I, O> {
+
+    private final Immediate<I, O> immediate = toImmediate(this);
+
     @Override
     protected final Observable<Response<O>> execute(I input) {
         return toRx(this, input);
     }
+
+    @Override
+    protected final Immediate<I, O> asImmediate() {
+        return immediate;
+    }
 }
@@ -0,0 +1,174 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map holding its entries in a single array of alternating keys and values,
+ * without entry objects.
+ * Keys are looked up by a linear scan, comparing references first,
+ * which for a few entries is cheaper than hashing.
+ * It accepts any number of entries, but once it holds {@link #MAX_SIZE} of them,
+ * lookups get slower than in a general purpose map, which it should be copied into
+ * for adding many entries. Not thread-safe.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public final class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * Number of entries up to which the map is more compact and faster than a hash map.
+     */
+    public static final int MAX_SIZE = 8;
+
+    private static final int INITIAL_SIZE = 2;
+
+    private Object[] table = new Object[INITIAL_SIZE * 2];
+    private int size;
+
+    private int indexOf(Object key) {
+        Object[] table = this.table;
+        for (int i = 0; i < size; i++) {
+            Object current = table[i << 1];
+            if (current == key || (key != null && key.equals(current))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check whether the map holds {@link #MAX_SIZE} entries or more,
+     * so it should be copied into a general purpose map for adding more.
+     *
+     * @return True if the map is full
+     */
+    public boolean isFull() {
+        return size >= MAX_SIZE;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? (V) table[(index << 1) + 1] : null;
+    }
+
+    /**
+     * Put an entry in the map.
+     *
+     * @param key   Entry key
+     * @param value Entry value
+     * @return Previous value of the key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            V previous = (V) table[(index << 1) + 1];
+            table[(index << 1) + 1] = value;
+            return previous;
+        }
+        if (size << 1 == table.length) {
+            Object[] grown = new Object[table.length * 2];
+            System.arraycopy(table, 0, grown, 0, table.length);
+            table = grown;
+        }
+        table[size << 1] = key;
+        table[(size << 1) + 1] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V previous = (V) table[(index << 1) + 1];
+        removeAt(index);
+        return previous;
+    }
+
+    private void removeAt(int index) {
+        int last = size - 1;
+        table[index << 1] = table[last << 1];
+        table[(index << 1) + 1] = table[(last << 1) + 1];
+        table[last << 1] = null;
+        table[(last << 1) + 1] = null;
+        size = last;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size << 1; i++) {
+            table[i] = null;
+        }
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private int next;
+        private int current = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            current = next++;
+            return new SimpleImmutableEntry<>((K) table[current << 1],
+                    (V) table[(current << 1) + 1]);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(current);
+            next = current;
+            current = -1;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue backed by an array, safe for any number
+ * of producers and consumers.
+ * Each slot carries a sequence number telling whether it is ready to be
+ * written or read in the current lap, so producers and consumers only
+ * contend on their own position counter.
+ *
+ * @param <T> Element type
+ */
+public final class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Create a ring buffer.
+     *
+     * @param capacity Minimum capacity, rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity should be between 1 and 2^30!");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Add the passed element, if there is room for it.
+     *
+     * @param element Element to add
+     * @return True if added, false if the buffer is full
+     */
+    public boolean offer(T element) {
+        Objects.requireNonNull(element, "Element should not be null!");
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Remove the oldest element.
+     *
+     * @return Removed element or null if the buffer is empty
+     */
+    public T poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T element = elements.get(index);
+                    elements.lazySet(index, null);
+                    sequences.lazySet(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Get the approximate number of elements in the buffer.
+     *
+     * @return Number of elements
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
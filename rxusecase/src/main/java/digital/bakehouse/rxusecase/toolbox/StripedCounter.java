@@ -0,0 +1,63 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter spreading its updates over several cells, so that threads
+ * updating it concurrently do not contend on the same memory location.
+ * Reading the value sums the cells, so it is more expensive than updating it.
+ * It serves the same purpose as java.util.concurrent.atomic.LongAdder,
+ * which is not available on all the platforms the library targets.
+ */
+public final class StripedCounter {
+
+    private static final int STRIPES = ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors() * 2);
+    private static final int MASK = STRIPES - 1;
+    // Cells are 8 longs (64 bytes) apart, to keep them on separate cache lines
+    private static final int SPACING_SHIFT = 3;
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES << SPACING_SHIFT);
+
+    /**
+     * Increment the counter.
+     */
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Decrement the counter.
+     */
+    public void decrement() {
+        add(-1);
+    }
+
+    /**
+     * Add the passed value to the counter.
+     *
+     * @param value Value to add
+     */
+    public void add(long value) {
+        int stripe = (int) Thread.currentThread().getId() & MASK;
+        cells.getAndAdd(stripe << SPACING_SHIFT, value);
+    }
+
+    /**
+     * Get the current value of the counter.
+     * Updates happening concurrently may or may not be reflected.
+     *
+     * @return Counter value
+     */
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i << SPACING_SHIFT);
+        }
+        return sum;
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        int result = Integer.highestOneBit(value);
+        return result == value ? result : result << 1;
+    }
+}
@@ -0,0 +1,71 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free budget of tokens earned as a fraction of some events, ex. retries or hedges
+ * allowed as a fraction of the executions. Each event deposits the ratio in the budget,
+ * while each token withdrawn takes one from it, and is refused when the budget has less.
+ * The balance is capped, and starts full so that some tokens are available when
+ * events are few. Fractions are kept in fixed point, with a precision of 0.001.
+ */
+public final class TokenBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    /**
+     * Create a budget.
+     *
+     * @param ratio     Tokens earned per event
+     * @param maxTokens Maximum tokens that can be accumulated
+     */
+    public TokenBudget(double ratio, int maxTokens) {
+        if (ratio < 0 || maxTokens < 0) {
+            throw new IllegalArgumentException("Budget should not be negative!");
+        }
+        this.deposit = (long) (ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Earn the ratio of a token, for an event.
+     */
+    public void deposit() {
+        long current;
+        long updated;
+        do {
+            current = balance.get();
+            updated = Math.min(maxBalance, current + deposit);
+        } while (updated != current && !balance.compareAndSet(current, updated));
+    }
+
+    /**
+     * Take a token from the budget, if one is available.
+     *
+     * @return True if a token was taken
+     */
+    public boolean withdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * Get the number of tokens currently available.
+     *
+     * @return Available tokens
+     */
+    public int getAvailable() {
+        return (int) (balance.get() / SCALE);
+    }
+}
@@ -0,0 +1,57 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Access to the virtual threads of the JDK 21+ runtimes.
+ * The library targets Java 8, so virtual threads are looked up reflectively
+ * and are available only when running on a runtime that supports them.
+ */
+public final class VirtualThreads {
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+    private static final Scheduler SCHEDULER =
+            EXECUTOR != null ? Schedulers.from(EXECUTOR) : null;
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Verify whether the current runtime supports virtual threads.
+     *
+     * @return true if virtual threads are supported
+     */
+    public static boolean isSupported() {
+        return SCHEDULER != null;
+    }
+
+    /**
+     * Get the scheduler running each of its tasks on a new virtual thread.
+     * Useful for blocking operations, as blocked virtual threads do not hold
+     * platform threads.
+     *
+     * @return Virtual thread scheduler
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads
+     */
+    public static Scheduler scheduler() {
+        if (SCHEDULER == null) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads require a Java 21 or newer runtime!");
+        }
+        return SCHEDULER;
+    }
+
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (Exception exception) {
+            return null;
+        }
+    }
+}
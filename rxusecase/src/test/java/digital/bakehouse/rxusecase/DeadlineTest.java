@@ -0,0 +1,131 @@
+package digital.bakehouse.rxusecase;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DeadlineTest {
+
+    private final TestScheduler clock = new TestScheduler();
+
+    @Test
+    public void failsAndDisposesWhenExceeded() {
+        AtomicBoolean disposed = new AtomicBoolean();
+        RxUseCase<String, String> useCase = RxUseCase.<String, String>fromSource(input ->
+                Observable.<Response<String>>never().doOnDispose(() -> disposed.set(true)));
+
+        TestObserver<Response<String>> observer = useCase.create(request(50)).test();
+        observer.assertEmpty();
+        assertFalse(disposed.get());
+
+        clock.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        observer.assertResult(Response.fail(Deadline.EXCEEDED));
+        assertTrue(disposed.get());
+    }
+
+    @Test
+    public void respondsBeforeDeadline() {
+        RxUseCase<String, String> useCase = RxUseCase.fromSynchronous(String::toUpperCase);
+
+        useCase.create(Request.newBuilder("a").deadline(1, TimeUnit.MINUTES).build())
+                .test()
+                .assertResult(Response.succeed("A"));
+        assertEquals(Response.succeed("A"),
+                useCase.get(Request.newBuilder("a").deadline(1, TimeUnit.MINUTES).build()));
+    }
+
+    @Test
+    public void failsSingleWhenExceeded() {
+        RxUseCase<String, String> useCase = RxUseCase.fromSource(input -> Observable.never());
+
+        TestObserver<Response<String>> observer = useCase.createSingle(request(50)).test();
+        observer.assertEmpty();
+
+        clock.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        observer.assertResult(Response.fail(Deadline.EXCEEDED));
+    }
+
+    @Test
+    public void doesNotInvokeWhenExpired() {
+        AtomicInteger executions = new AtomicInteger();
+        RxUseCase<String, Integer> useCase = RxUseCase.fromSynchronous(
+                input -> executions.incrementAndGet());
+
+        Response<Integer> response = useCase.get(
+                Request.newBuilder("a").deadline(-1, TimeUnit.MILLISECONDS).build());
+
+        assertEquals(Response.fail(Deadline.EXCEEDED), response);
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    public void failsInlineInvocationOverrunningDeadline() {
+        RxUseCase<String, String> useCase = RxUseCase.fromSynchronous(input -> {
+            clock.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+            return input;
+        });
+
+        assertEquals(Response.fail(Deadline.EXCEEDED), useCase.get(request(50)));
+        useCase.create(request(50)).test().assertResult(Response.fail(Deadline.EXCEEDED));
+    }
+
+    @Test
+    public void propagatesToNestedUseCases() {
+        RxUseCase<String, Deadline> inner = RxUseCase.fromSynchronous(input -> Deadline.current());
+        RxUseCase<String, Deadline> outer = RxUseCase.fromSynchronous(input ->
+                inner.create(input).blockingFirst().getData());
+        RxUseCase<String, Deadline> outerInline = RxUseCase.fromSynchronous(input ->
+                inner.get(input).getData());
+        Deadline deadline = Deadline.after(1, TimeUnit.MINUTES);
+        Request<String> request = Request.newBuilder("a").deadline(deadline).build();
+
+        assertSame(deadline, outer.create(request).blockingFirst().getData());
+        assertSame(deadline, outerInline.get(request).getData());
+        assertNull(Deadline.current());
+        assertNull(inner.get("a").getData());
+    }
+
+    @Test
+    public void propagatesFromExecute() {
+        AtomicBoolean disposed = new AtomicBoolean();
+        RxUseCase<String, String> inner = RxUseCase.fromSource(input ->
+                Observable.<Response<String>>never().doOnDispose(() -> disposed.set(true)));
+        RxUseCase<String, String> outer = new RxUseCase<String, String>() {
+            @Override
+            protected Observable<Response<String>> execute(String input) {
+                return inner.create(input);
+            }
+        };
+        AtomicBoolean innerExceeded = new AtomicBoolean();
+        Single<Response<String>> nested = outer
+                .create(request(50))
+                .firstOrError()
+                .doOnSuccess(response -> innerExceeded.set(
+                        Deadline.EXCEEDED.equals(response.getFailure())));
+
+        nested.test();
+        assertFalse(disposed.get());
+        clock.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        assertTrue(innerExceeded.get());
+        assertTrue(disposed.get());
+    }
+
+    private Request<String> request(long timeoutMillis) {
+        return Request.newBuilder("a")
+                .deadline(Deadline.after(timeoutMillis, TimeUnit.MILLISECONDS, clock))
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package digital.bakehouse.rxusecase;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import digital.bakehouse.rxusecase.toolbox.CompactMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RequestTest {
+
+    private static final Request.Key<Integer> PAGE = Request.Key.of("page");
+    private static final Request.Key<String> LOCALE = Request.Key.of("locale");
+
+    @Test
+    public void getsTypedExtras() {
+        Request<String> request = Request.newBuilder("a")
+                .extra(PAGE, 2)
+                .extra("locale", "en")
+                .build();
+
+        Integer page = request.getExtra(PAGE);
+        assertEquals(Integer.valueOf(2), page);
+        assertEquals("en", request.getExtra(LOCALE));
+        assertEquals(2, request.getExtras().get("page"));
+        assertNull(request.getExtra(Request.Key.of("missing")));
+        assertNull(Request.newBuilder("a").build().getExtra(PAGE));
+    }
+
+    @Test
+    public void keepsMapViewOfExtras() {
+        Request<String> request = Request.newBuilder("a")
+                .extra(PAGE, 2)
+                .extra(LOCALE, "en")
+                .extra(PAGE, 3)
+                .build();
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("page", 3);
+        expected.put("locale", "en");
+
+        assertTrue(request.getExtras() instanceof CompactMap);
+        assertEquals(expected, request.getExtras());
+        assertEquals(expected.hashCode(), request.getExtras().hashCode());
+        assertEquals(Request.newBuilder("a").extras(expected).build(), request);
+    }
+
+    @Test
+    public void acceptsChangesOfExtras() {
+        Request<String> request = Request.newBuilder("a").extra("key", 0).build();
+        Map<String, Object> extras = request.getExtras();
+        for (int i = 1; i <= CompactMap.MAX_SIZE * 2; i++) {
+            extras.put("key" + i, i);
+        }
+        extras.remove("key");
+
+        assertEquals(CompactMap.MAX_SIZE * 2, request.getExtras().size());
+        assertEquals(1, request.getExtras().get("key1"));
+    }
+
+    @Test
+    public void growsBeyondCompactExtras() {
+        Request.Builder<String> builder = Request.newBuilder("a");
+        for (int i = 0; i <= CompactMap.MAX_SIZE; i++) {
+            builder.extra("key" + i, i);
+        }
+        Request<String> request = builder.build();
+
+        assertEquals(CompactMap.MAX_SIZE + 1, request.getExtras().size());
+        assertEquals(CompactMap.MAX_SIZE, request.getExtras().get("key" + CompactMap.MAX_SIZE));
+        assertEquals(0, request.getExtras().get("key0"));
+    }
+}
@@ -0,0 +1,42 @@
+package digital.bakehouse.rxusecase;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseTest {
+
+    private static final Failure FAILURE = new Failure("1", "Failure message");
+
+    @Test
+    public void sharesEmptyResponse() {
+        Response<Void> empty = Response.empty();
+        Response<String> nullSuccess = Response.succeed(null);
+
+        assertSame(empty, Response.empty());
+        assertSame(empty, nullSuccess);
+        assertTrue(empty.isSuccessful());
+        assertNull(empty.getData());
+    }
+
+    @Test
+    public void sharesFailureResponse() {
+        Response<String> first = Response.fail(FAILURE);
+        Response<Integer> second = Response.fail(FAILURE);
+
+        assertSame(first, second);
+        assertSame(FAILURE, first.getFailure());
+        assertEquals(Response.fail(new Failure("1", "Failure message")), first);
+    }
+
+    @Test
+    public void synchronousNullOutputSucceeds() {
+        Response<Void> response = RxUseCase.<Void, Void>fromSynchronous(input -> null)
+                .get();
+
+        assertSame(Response.empty(), response);
+    }
+}
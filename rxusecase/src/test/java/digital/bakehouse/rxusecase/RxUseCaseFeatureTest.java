@@ -3,18 +3,36 @@ package digital.bakehouse.rxusecase;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import digital.bakehouse.rxusecase.decorator.FlowableDecorator;
+import digital.bakehouse.rxusecase.decorator.InlineDecorator;
+import digital.bakehouse.rxusecase.decorator.SingleDecorator;
 import digital.bakehouse.rxusecase.decorator.UseCaseDecorator;
 import digital.bakehouse.rxusecase.operation.Asynchronous;
+import digital.bakehouse.rxusecase.operation.AsynchronousUseCase;
 import digital.bakehouse.rxusecase.operation.Continuous;
+import digital.bakehouse.rxusecase.operation.ContinuousUseCase;
+import digital.bakehouse.rxusecase.operation.Immediate;
 import digital.bakehouse.rxusecase.operation.Synchronous;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.exceptions.MissingBackpressureException;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
 
 import static digital.bakehouse.test.Observables.assertValue;
 import static digital.bakehouse.test.Observables.assertValues;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -51,6 +69,43 @@ public class RxUseCaseFeatureTest {
         assertValue(operationStream, responseOutput);
     }
 
+    @Test
+    public void fromSynchronousStacklessError() {
+        FailureException exception = FailureException.stackless("1", "Failure message");
+        Synchronous<String, String> operation = operationInput -> {
+            throw exception;
+        };
+
+        Observable<Response<String>> operationStream = RxUseCase.fromSynchronous(operation)
+                .create("abcdefg");
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertValue(operationStream, Response.fail(new Failure("1", "Failure message")));
+    }
+
+    @Test
+    public void fromImmediateSuccess() {
+        String input = "abcdefg";
+        Immediate<String, String> operation = operationInput ->
+                Response.succeed(operationInput.toUpperCase());
+
+        Observable<Response<String>> operationStream = RxUseCase.fromImmediate(operation)
+                .create(input);
+
+        assertValue(operationStream, Response.succeed(input.toUpperCase()));
+    }
+
+    @Test
+    public void fromImmediateFailure() {
+        Failure failure = new Failure("1", "Failure message");
+        Immediate<String, String> operation = operationInput -> Response.fail(failure);
+
+        Observable<Response<String>> operationStream = RxUseCase.fromImmediate(operation)
+                .create("abcdefg");
+
+        assertValue(operationStream, Response.fail(failure));
+    }
+
     @Test
     public void fromAsynchronousSuccess() {
         String input = "abcdefg";
@@ -217,4 +272,332 @@ public class RxUseCaseFeatureTest {
         RxUseCase.removeDecorator(secondDecorator);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void replacesDecorator() {
+        String input = "abcdefg";
+        UseCaseDecorator original = new UseCaseDecorator() {
+            @Override
+            public <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                           Request<I> request) {
+                return origin.map(oResponse -> Response.succeed((O) "original"));
+            }
+        };
+        UseCaseDecorator replacement = new UseCaseDecorator() {
+            @Override
+            public <I, O> Observable<Response<O>> decorate(Observable<Response<O>> origin,
+                                                           Request<I> request) {
+                return origin.map(oResponse -> Response.succeed((O) "replacement"));
+            }
+        };
+        RxUseCase<String, String> useCase = RxUseCase.fromSynchronous(String::toUpperCase);
+
+        RxUseCase.addDecorator(original);
+        assertEquals("original", useCase.get(input).getData());
+
+        RxUseCase.replaceDecorator(original, replacement);
+        assertEquals("replacement", useCase.get(input).getData());
+
+        RxUseCase.removeDecorator(replacement);
+        assertEquals("ABCDEFG", useCase.get(input).getData());
+    }
+
+    @Test
+    public void changesGlobalDecoratorsConcurrently() throws InterruptedException {
+        RxUseCase<String, String> useCase = RxUseCase.fromSynchronous(String::toUpperCase);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int threadCount = 4;
+        CountDownLatch finished = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                try {
+                    for (int j = 0; j < 1000; j++) {
+                        UseCaseDecorator decorator = new UseCaseDecorator() {
+                            @Override
+                            public <I, O> Observable<Response<O>> decorate(
+                                    Observable<Response<O>> origin, Request<I> request) {
+                                return origin;
+                            }
+                        };
+                        RxUseCase.addDecorator(decorator);
+                        assertEquals("A", useCase.get("a").getData());
+                        RxUseCase.removeDecorator(decorator);
+                    }
+                } catch (Throwable throwable) {
+                    failure.set(throwable);
+                } finally {
+                    finished.countDown();
+                }
+            }).start();
+        }
+
+        finished.await();
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void continuousFlowableKeepsLatest() {
+        TestSubscriber<Response<Integer>> subscriber = new Counter()
+                .createFlowable(100, Backpressure.latest())
+                .test(0);
+        subscriber.assertNoValues();
+
+        subscriber.request(1);
+        subscriber.assertValue(Response.succeed(99));
+        subscriber.assertComplete();
+    }
+
+    @Test
+    public void continuousFlowableBoundsBuffer() {
+        TestSubscriber<Response<Integer>> subscriber = new Counter()
+                .createFlowable(100, Backpressure.buffer(10))
+                .test(0);
+
+        subscriber.assertError(MissingBackpressureException.class);
+        subscriber.request(100);
+        subscriber.assertNoValues();
+    }
+
+    @Test
+    public void flowableDecorates() {
+        UseCaseDecorator decorator = mock(UseCaseDecorator.class);
+        when(decorator.decorate(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        FlowableDecorator flowableDecorator = mock(FlowableDecorator.class);
+        when(flowableDecorator.decorateFlowable(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        TestSubscriber<Response<Integer>> subscriber = new Counter()
+                .decorateWith(Arrays.asList(decorator, flowableDecorator))
+                .createFlowable(3, Backpressure.buffer(10))
+                .test();
+
+        subscriber.awaitTerminalEvent();
+        subscriber.assertValues(Response.succeed(0), Response.succeed(1), Response.succeed(2));
+        verify(decorator, times(1)).decorate(any(), any());
+        verify(flowableDecorator, times(1)).decorateFlowable(any(), any());
+        verify(flowableDecorator, times(0)).decorate(any(), any());
+    }
+
+    @Test
+    public void flowableBridgesPlainDecoratorsOnce() {
+        List<Observable<?>> decorated = new ArrayList<>();
+        UseCaseDecorator first = mock(UseCaseDecorator.class);
+        when(first.decorate(any(), any())).thenAnswer(invocation -> {
+            Observable<?> result = ((Observable<?>) invocation.getArgument(0)).hide();
+            decorated.add(result);
+            return result;
+        });
+        UseCaseDecorator second = mock(UseCaseDecorator.class);
+        when(second.decorate(any(), any())).thenAnswer(invocation -> {
+            decorated.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        TestSubscriber<Response<Integer>> subscriber = new Counter()
+                .decorateWith(Arrays.asList(first, second))
+                .createFlowable(3, Backpressure.buffer(10))
+                .test();
+
+        subscriber.awaitTerminalEvent();
+        subscriber.assertValues(Response.succeed(0), Response.succeed(1), Response.succeed(2));
+        assertSame(decorated.get(0), decorated.get(1));
+    }
+
+    @Test
+    public void getsSynchronousInline() {
+        AtomicInteger assemblies = new AtomicInteger();
+        RxJavaPlugins.setOnObservableAssembly(observable -> {
+            assemblies.incrementAndGet();
+            return observable;
+        });
+        try {
+            RxUseCase<String, String> useCase = RxUseCase.<String, String>fromSynchronous(input -> {
+                if (input.isEmpty()) {
+                    throw FailureException.stackless("empty", "Empty input");
+                }
+                return input.toUpperCase();
+            }).decorateWithNothing();
+
+            assertEquals(Response.succeed("ABC"), useCase.get("abc"));
+            assertEquals(Response.fail("empty", "Empty input"), useCase.get(""));
+            assertEquals(Response.fail("1", "Failed"),
+                    RxUseCase.fromImmediate(input -> Response.fail("1", "Failed")).get());
+            assertEquals(0, assemblies.get());
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void getsInlineThroughDecorators() {
+        InlineDecorator decorator = mock(InlineDecorator.class);
+        when(decorator.decorateInline(any(), any()))
+                .thenAnswer(invocation ->
+                        ((InlineDecorator.Invocation<?>) invocation.getArgument(0)).proceed());
+
+        Response<String> response = RxUseCase.<String, String>fromSynchronous(String::toUpperCase)
+                .decorateWith(decorator)
+                .get("abc");
+
+        assertEquals(Response.succeed("ABC"), response);
+        verify(decorator, times(1)).decorateInline(any(), any());
+        verify(decorator, times(0)).decorate(any(), any());
+    }
+
+    @Test
+    public void getsThroughObservableWhenDecoratorIsNotInline() {
+        UseCaseDecorator decorator = mock(UseCaseDecorator.class);
+        when(decorator.decorate(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Response<String> response = RxUseCase.<String, String>fromSynchronous(String::toUpperCase)
+                .decorateWith(decorator)
+                .get("abc");
+
+        assertEquals(Response.succeed("ABC"), response);
+        verify(decorator, times(1)).decorate(any(), any());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getsInlineException() {
+        RxUseCase.<String, String>fromSynchronous(input -> {
+            throw new IllegalStateException();
+        }).decorateWithNothing().get("abc");
+    }
+
+    @Test
+    public void createsSingleFromSynchronous() {
+        RxUseCase<String, String> useCase = RxUseCase.fromSynchronous(input -> {
+            if (input.isEmpty()) {
+                throw FailureException.stackless("empty", "Empty input");
+            }
+            return input.toUpperCase();
+        });
+
+        useCase.createSingle("abc").test().assertResult(Response.succeed("ABC"));
+        useCase.createSingle("").test().assertResult(Response.fail("empty", "Empty input"));
+    }
+
+    @Test
+    public void createsSingleFromAsynchronous() {
+        AsynchronousUseCase<String, String> useCase = new AsynchronousUseCase<String, String>() {
+            @Override
+            public void act(String input, Callback<String> callback) {
+                callback.succeed(input.toUpperCase());
+            }
+        };
+
+        useCase.createSingle("abc").test().assertResult(Response.succeed("ABC"));
+    }
+
+    @Test
+    public void createsSingleFromFirstResponse() {
+        new Counter().createSingle(3).test().assertResult(Response.succeed(0));
+    }
+
+    @Test
+    public void singleDecorates() {
+        UseCaseDecorator decorator = mock(UseCaseDecorator.class);
+        when(decorator.decorate(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        SingleDecorator singleDecorator = mock(SingleDecorator.class);
+        when(singleDecorator.decorateSingle(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        RxUseCase.<String, String>fromSynchronous(String::toUpperCase)
+                .decorateWith(Arrays.asList(decorator, singleDecorator))
+                .createSingle("abc")
+                .test()
+                .assertResult(Response.succeed("ABC"));
+
+        verify(decorator, times(1)).decorate(any(), any());
+        verify(singleDecorator, times(1)).decorateSingle(any(), any());
+        verify(singleDecorator, times(0)).decorate(any(), any());
+    }
+
+    @Test
+    public void createsCompletable() {
+        RxUseCase.<Void, Void>fromImmediate(input -> Response.empty())
+                .createCompletable()
+                .test()
+                .assertComplete();
+
+        Failure failure = new Failure("1", "Failed");
+        RxUseCase.<Void, Void>fromImmediate(input -> Response.fail(failure))
+                .createCompletable()
+                .test()
+                .assertError(throwable -> throwable instanceof FailureException
+                        && ((FailureException) throwable).getFailure() == failure);
+    }
+
+    @Test
+    public void createsAllInInputOrder() {
+        TestScheduler scheduler = new TestScheduler();
+        RxUseCase<Integer, Integer> useCase = RxUseCase.fromSource(input ->
+                Observable.just(Response.succeed(input))
+                        .delay(10 - input, TimeUnit.SECONDS, scheduler));
+
+        TestSubscriber<Response<Integer>> subscriber = useCase
+                .createAll(Arrays.asList(1, 2, 3), 3)
+                .test();
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+        subscriber.assertResult(Response.succeed(1), Response.succeed(2), Response.succeed(3));
+    }
+
+    @Test
+    public void createsAllInCompletionOrder() {
+        TestScheduler scheduler = new TestScheduler();
+        RxUseCase<Integer, Integer> useCase = RxUseCase.fromSource(input ->
+                Observable.just(Response.succeed(input))
+                        .delay(10 - input, TimeUnit.SECONDS, scheduler));
+
+        TestSubscriber<Response<Integer>> subscriber = useCase
+                .createAllUnordered(Arrays.asList(1, 2, 3), 3)
+                .test();
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+        subscriber.assertResult(Response.succeed(3), Response.succeed(2), Response.succeed(1));
+    }
+
+    @Test
+    public void createsAllWithBoundedConcurrency() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        UseCaseDecorator decorator = mock(UseCaseDecorator.class);
+        when(decorator.decorate(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        RxUseCase<Integer, Integer> useCase = RxUseCase.<Integer, Integer>fromSource(input ->
+                Observable.just(Response.succeed(input))
+                        .delay(1, TimeUnit.SECONDS, scheduler)
+                        .doOnSubscribe(disposable ->
+                                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                        .doOnTerminate(running::decrementAndGet))
+                .decorateWith(decorator);
+
+        TestSubscriber<Response<Integer>> subscriber = useCase
+                .createAll(Flowable.range(0, 10), 2)
+                .test();
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+        subscriber.assertValueCount(10).assertComplete();
+        assertEquals(2, maxRunning.get());
+        verify(decorator, times(10)).decorate(any(), any());
+    }
+
+    private static class Counter extends ContinuousUseCase<Integer, Integer> {
+        @Override
+        public void act(Integer input, Notifier<Integer> notifier) {
+            for (int i = 0; i < input; i++) {
+                notifier.notify(i);
+            }
+            notifier.complete();
+        }
+
+        @Override
+        public void cancel(Integer input) {
+
+        }
+    }
+}
@@ -175,4 +175,42 @@ public class RxUseCaseTest {
             inOrder.verify(decorator).decorate(any(), any());
         }
     }
+
+    @Test
+    public void decoratesOncePerCreation() {
+        RxUseCase useCase = mock(RxUseCase.class, Mockito.CALLS_REAL_METHODS);
+        Object input = mock(Object.class);
+        Response response = mock(Response.class);
+        when(useCase.execute(input)).thenReturn(Observable.just(response));
+
+        UseCaseDecorator decorator = mock(UseCaseDecorator.class);
+        when(decorator.decorate(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Observable<Response<Object>> stream = useCase.decorateWith(decorator)
+                .create(input);
+        assertValue(stream, response);
+        assertValue(stream, response);
+
+        verify(decorator, times(1)).decorate(any(), any());
+    }
+
+    @Test
+    public void decorateWithNothingDropsDecorators() {
+        RxUseCase useCase = mock(RxUseCase.class, Mockito.CALLS_REAL_METHODS);
+        Object input = mock(Object.class);
+        Response response = mock(Response.class);
+        when(useCase.execute(input)).thenReturn(Observable.just(response));
+
+        UseCaseDecorator decorator = mock(UseCaseDecorator.class);
+        when(decorator.decorate(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        useCase.decorateWith(decorator)
+                .decorateWithNothing()
+                .create(input)
+                .subscribe();
+
+        verify(decorator, times(0)).decorate(any(), any());
+    }
 }
@@ -0,0 +1,102 @@
+package digital.bakehouse.rxusecase;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UseCaseGroupTest {
+
+    @Test
+    public void collectsTypedResults() {
+        UseCaseGroup.Builder builder = UseCaseGroup.newBuilder()
+                .scheduler(Schedulers.io());
+        UseCaseGroup.Member<String> upper = builder.add(
+                RxUseCase.<String, String>fromSynchronous(String::toUpperCase), "abc");
+        UseCaseGroup.Member<Integer> length = builder.add(
+                RxUseCase.<String, Integer>fromSynchronous(String::length),
+                Request.newBuilder("abcd").build());
+        UseCaseGroup.Member<List<String>> split = builder.add(
+                RxUseCase.<String, List<String>>fromSynchronous(input -> Arrays.asList(input.split(","))),
+                "a,b");
+
+        Response<UseCaseGroup.Results> response = builder.build().get();
+
+        assertTrue(response.isSuccessful());
+        assertEquals("ABC", response.getData().get(upper));
+        assertEquals(Integer.valueOf(4), response.getData().get(length));
+        assertEquals(Arrays.asList("a", "b"), response.getData().get(split));
+    }
+
+    @Test
+    public void limitsConcurrency() {
+        List<PublishSubject<Response<String>>> subjects = Arrays.asList(
+                PublishSubject.create(), PublishSubject.create(), PublishSubject.create());
+        UseCaseGroup.Builder builder = UseCaseGroup.newBuilder().maxConcurrency(2);
+        for (PublishSubject<Response<String>> subject : subjects) {
+            builder.add(RxUseCase.<String, String>fromSource(input -> subject), "");
+        }
+
+        TestObserver<Response<UseCaseGroup.Results>> observer = builder.build().create().test();
+        assertTrue(subjects.get(0).hasObservers());
+        assertTrue(subjects.get(1).hasObservers());
+        assertFalse(subjects.get(2).hasObservers());
+
+        subjects.get(1).onNext(Response.succeed("b"));
+        assertTrue(subjects.get(2).hasObservers());
+        subjects.get(0).onNext(Response.succeed("a"));
+        subjects.get(2).onNext(Response.succeed("c"));
+
+        observer.assertValueCount(1).assertComplete();
+        assertEquals(3, observer.values().get(0).getData().size());
+    }
+
+    @Test
+    public void failsFast() {
+        PublishSubject<Response<String>> pending = PublishSubject.create();
+        UseCaseGroup.Builder builder = UseCaseGroup.newBuilder();
+        builder.add(RxUseCase.<String, String>fromSource(input -> pending), "");
+        builder.add(RxUseCase.<String, String>fromImmediate(input -> Response.fail("1", "First")), "");
+        builder.add(RxUseCase.<String, String>fromImmediate(input -> Response.fail("2", "Second")), "");
+
+        Response<UseCaseGroup.Results> response = builder.build().get();
+
+        assertFalse(pending.hasObservers());
+        assertEquals(UseCaseGroup.FAILURE_CODE, response.getFailure().getCode());
+        assertEquals(Arrays.asList(new Failure("1", "First")),
+                response.getFailure().getChildren());
+    }
+
+    @Test
+    public void collectsFailures() {
+        UseCaseGroup.Builder builder = UseCaseGroup.newBuilder().collectFailures();
+        builder.add(RxUseCase.<String, String>fromImmediate(input -> Response.fail("1", "First")), "");
+        builder.add(RxUseCase.<String, String>fromSynchronous(input -> input), "ok");
+        builder.add(RxUseCase.<String, String>fromImmediate(input -> Response.fail("2", "Second")), "");
+
+        Response<UseCaseGroup.Results> response = builder.build().get();
+
+        assertEquals("2 of 3 use-cases failed", response.getFailure().getMessage());
+        assertEquals(Arrays.asList(new Failure("1", "First"), new Failure("2", "Second")),
+                response.getFailure().getChildren());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMembersOfOtherGroups() {
+        UseCaseGroup.Builder builder = UseCaseGroup.newBuilder();
+        builder.add(RxUseCase.<String, String>fromSynchronous(input -> input), "a");
+        UseCaseGroup.Builder other = UseCaseGroup.newBuilder();
+        UseCaseGroup.Member<String> foreign = other.add(
+                RxUseCase.<String, String>fromSynchronous(input -> input), "b");
+
+        builder.build().get().getData().get(foreign);
+    }
+}
@@ -0,0 +1,79 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import digital.bakehouse.rxusecase.RxUseCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncFileLogOutputTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writesMessagesInOrder() throws Exception {
+        File file = folder.newFile();
+        AsyncFileLogOutput output = AsyncFileLogOutput.newBuilder(file)
+                .overflow(AsyncFileLogOutput.Overflow.BLOCK)
+                .capacity(16)
+                .batchSize(4)
+                .build();
+
+        for (int i = 0; i < 1000; i++) {
+            output.log("message " + i);
+        }
+        output.flush();
+
+        List<String> lines = read(file);
+        assertEquals(1000, lines.size());
+        assertEquals("message 999", lines.get(999));
+        assertEquals(0, output.getDroppedCount());
+        output.close();
+    }
+
+    @Test
+    public void logsUseCases() throws Exception {
+        File file = folder.newFile();
+        AsyncFileLogOutput output = AsyncFileLogOutput.newBuilder(file).build();
+
+        RxUseCase.<String, String>fromSynchronous(input -> input)
+                .origin("Echo")
+                .decorateWith(LogDecorator.getWithOutput(output))
+                .create("hello")
+                .test();
+        output.close();
+
+        List<String> lines = read(file);
+        assertEquals(4, lines.size());
+        assertEquals("Echo(hello) ~~ Success = hello", lines.get(1));
+    }
+
+    @Test
+    public void dropsAfterClose() throws Exception {
+        File file = folder.newFile();
+        AsyncFileLogOutput output = AsyncFileLogOutput.newBuilder(file)
+                .append(false)
+                .build();
+
+        output.log("before");
+        output.close();
+        output.log("after");
+
+        assertEquals(1, output.getWrittenCount());
+        assertEquals(1, output.getDroppedCount());
+        assertTrue(read(file).contains("before"));
+    }
+
+    private static List<String> read(File file) throws Exception {
+        return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    }
+}
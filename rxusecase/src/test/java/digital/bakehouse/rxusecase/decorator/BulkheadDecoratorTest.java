@@ -0,0 +1,123 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Test;
+
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BulkheadDecoratorTest {
+
+    private final PublishSubject<Response<String>> subject = PublishSubject.create();
+
+    @Test
+    public void queuesAndRejectsOverLimit() {
+        BulkheadDecorator decorator = BulkheadDecorator.newBuilder()
+                .maxConcurrent(2)
+                .maxWaiting(1)
+                .build();
+        RxUseCase<String, String> useCase = pending("Slow", decorator);
+
+        TestObserver<Response<String>> first = useCase.create("1").test();
+        useCase.create("2").test();
+        TestObserver<Response<String>> queued = useCase.create("3").test();
+        TestObserver<Response<String>> rejected = useCase.create("4").test();
+
+        assertEquals(2, decorator.getRunningCount("Slow"));
+        assertEquals(1, decorator.getWaitingCount("Slow"));
+        rejected.assertResult(Response.fail(BulkheadDecorator.REJECTION));
+        assertEquals(1, decorator.getRejectedCount());
+
+        first.dispose();
+        assertEquals(2, decorator.getRunningCount("Slow"));
+        assertEquals(0, decorator.getWaitingCount("Slow"));
+
+        subject.onNext(Response.succeed("done"));
+        subject.onComplete();
+        queued.assertResult(Response.succeed("done"));
+        assertEquals(0, decorator.getRunningCount("Slow"));
+    }
+
+    @Test
+    public void removesDisposedWaiting() {
+        BulkheadDecorator decorator = BulkheadDecorator.newBuilder()
+                .maxConcurrent(1)
+                .maxWaiting(1)
+                .build();
+        RxUseCase<String, String> useCase = pending("Slow", decorator);
+
+        useCase.create("1").test();
+        useCase.create("2").test().dispose();
+
+        assertEquals(0, decorator.getWaitingCount("Slow"));
+        useCase.create("3").test().assertNoValues();
+        assertEquals(1, decorator.getWaitingCount("Slow"));
+    }
+
+    @Test
+    public void startsLongQueueWithoutRecursion() {
+        int count = 100000;
+        BulkheadDecorator decorator = BulkheadDecorator.newBuilder()
+                .maxConcurrent(1)
+                .maxWaiting(count)
+                .build();
+        RxUseCase<String, String> useCase = RxUseCase.<String, String>fromSource(input ->
+                input.isEmpty() ? subject : Observable.just(Response.succeed(input)))
+                .origin("Queue")
+                .decorateWith(decorator);
+
+        useCase.create("").test();
+        TestObserver<Response<String>> last = null;
+        for (int i = 0; i < count; i++) {
+            last = useCase.create(String.valueOf(i)).test();
+        }
+        subject.onComplete();
+
+        last.assertResult(Response.succeed(String.valueOf(count - 1)));
+        assertEquals(0, decorator.getRunningCount("Queue"));
+    }
+
+    @Test
+    public void limitsOriginsSeparately() {
+        BulkheadDecorator decorator = BulkheadDecorator.newBuilder()
+                .maxConcurrent(1)
+                .maxConcurrent("Wide", 2)
+                .build();
+
+        pending("Narrow", decorator).create("1").test();
+        pending("Narrow", decorator).create("2").test()
+                .assertResult(Response.fail(BulkheadDecorator.REJECTION));
+        pending("Wide", decorator).create("1").test();
+        pending("Wide", decorator).create("2").test().assertNoValues();
+
+        assertEquals(1, decorator.getRunningCount("Narrow"));
+        assertEquals(2, decorator.getRunningCount("Wide"));
+    }
+
+    @Test
+    public void isolatesOriginThreads() {
+        BulkheadDecorator decorator = BulkheadDecorator.newBuilder()
+                .threadIsolation()
+                .build();
+
+        Response<String> response = RxUseCase.<String, String>fromSynchronous(input ->
+                Thread.currentThread().getName())
+                .origin("Isolated")
+                .decorateWith(decorator)
+                .get();
+
+        assertTrue(response.getData().startsWith("RxUseCase-Bulkhead-Isolated-"));
+        decorator.shutdown();
+    }
+
+    private RxUseCase<String, String> pending(String origin, BulkheadDecorator decorator) {
+        return RxUseCase.<String, String>fromSource(input -> subject)
+                .origin(origin)
+                .decorateWith(decorator);
+    }
+}
@@ -0,0 +1,95 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import digital.bakehouse.rxusecase.FailureException;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+
+public class CachingDecoratorTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final TestScheduler clock = new TestScheduler();
+
+    private RxUseCase<String, String> useCase(CachingDecorator decorator) {
+        return RxUseCase.<String, String>fromSynchronous(input -> {
+            executions.incrementAndGet();
+            if (input.isEmpty()) {
+                throw FailureException.create("empty", "Empty input");
+            }
+            return input.toUpperCase();
+        }).decorateWith(decorator);
+    }
+
+    @Test
+    public void cachesSuccessUntilExpired() {
+        CachingDecorator decorator = CachingDecorator.newBuilder()
+                .expireAfter(10, TimeUnit.SECONDS)
+                .clock(clock)
+                .build();
+        RxUseCase<String, String> useCase = useCase(decorator);
+
+        assertEquals(Response.succeed("A"), useCase.get("a"));
+        assertEquals(Response.succeed("A"), useCase.get("a"));
+        assertEquals(1, executions.get());
+
+        clock.advanceTimeBy(10, TimeUnit.SECONDS);
+        assertEquals(Response.succeed("A"), useCase.get("a"));
+        assertEquals(2, executions.get());
+
+        assertEquals(1, decorator.getHitCount());
+        assertEquals(2, decorator.getMissCount());
+        assertEquals(1, decorator.getEvictionCount());
+    }
+
+    @Test
+    public void cachesFailuresOnlyWhenConfigured() {
+        RxUseCase<String, String> notCaching = useCase(CachingDecorator.newBuilder()
+                .clock(clock)
+                .build());
+        notCaching.get("");
+        notCaching.get("");
+        assertEquals(2, executions.get());
+
+        executions.set(0);
+        RxUseCase<String, String> caching = useCase(CachingDecorator.newBuilder()
+                .expireFailuresAfter(1, TimeUnit.SECONDS)
+                .clock(clock)
+                .build());
+        caching.get("");
+        Response<String> response = caching.get("");
+        assertEquals("empty", response.getFailure().getCode());
+        assertEquals(1, executions.get());
+
+        clock.advanceTimeBy(1, TimeUnit.SECONDS);
+        caching.get("");
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        CachingDecorator decorator = CachingDecorator.newBuilder()
+                .maximumSize(2)
+                .clock(clock)
+                .build();
+        RxUseCase<String, String> useCase = useCase(decorator);
+
+        useCase.get("a");
+        useCase.get("b");
+        useCase.get("a");
+        useCase.get("c");
+        assertEquals(2, decorator.size());
+        assertEquals(1, decorator.getEvictionCount());
+
+        useCase.get("a");
+        assertEquals(3, executions.get());
+        useCase.get("b");
+        assertEquals(4, executions.get());
+    }
+}
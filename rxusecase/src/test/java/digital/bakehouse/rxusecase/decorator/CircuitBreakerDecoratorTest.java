@@ -0,0 +1,150 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import digital.bakehouse.rxusecase.decorator.CircuitBreakerDecorator.State;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+
+public class CircuitBreakerDecoratorTest {
+
+    private static final Failure UNAVAILABLE = new Failure("UNAVAILABLE", "Service unavailable");
+    private static final Failure INVALID = new Failure("INVALID", "Invalid input");
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final AtomicInteger executions = new AtomicInteger();
+    private Response<String> result = Response.fail(UNAVAILABLE);
+
+    @Test
+    public void opensAndShortCircuits() {
+        CircuitBreakerDecorator decorator = newBuilder().build();
+        RxUseCase<String, String> useCase = remote(decorator);
+
+        useCase.create("1").test().assertResult(Response.fail(UNAVAILABLE));
+        assertEquals(State.CLOSED, decorator.getState("Remote"));
+        useCase.create("2").test().assertResult(Response.fail(UNAVAILABLE));
+        assertEquals(State.OPEN, decorator.getState("Remote"));
+
+        useCase.create("3").test().assertResult(Response.fail(CircuitBreakerDecorator.REJECTION));
+        assertEquals(2, executions.get());
+        assertEquals(1, decorator.getRejectedCount());
+    }
+
+    @Test
+    public void closesAfterSuccessfulTrial() {
+        CircuitBreakerDecorator decorator = newBuilder().build();
+        RxUseCase<String, String> useCase = remote(decorator);
+        useCase.create("1").test();
+        useCase.create("2").test();
+
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        result = Response.succeed("ok");
+        useCase.create("3").test().assertResult(Response.succeed("ok"));
+
+        assertEquals(State.CLOSED, decorator.getState("Remote"));
+        useCase.create("4").test().assertResult(Response.succeed("ok"));
+    }
+
+    @Test
+    public void reopensAfterFailedTrial() {
+        CircuitBreakerDecorator decorator = newBuilder().build();
+        RxUseCase<String, String> useCase = remote(decorator);
+        useCase.create("1").test();
+        useCase.create("2").test();
+
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        useCase.create("3").test().assertResult(Response.fail(UNAVAILABLE));
+
+        assertEquals(State.OPEN, decorator.getState("Remote"));
+        useCase.create("4").test().assertResult(Response.fail(CircuitBreakerDecorator.REJECTION));
+    }
+
+    @Test
+    public void limitsTrialsAndReleasesDisposed() {
+        CircuitBreakerDecorator decorator = newBuilder().build();
+        RxUseCase<String, String> useCase = remote(decorator);
+        useCase.create("1").test();
+        useCase.create("2").test();
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+        PublishSubject<Response<String>> pending = PublishSubject.create();
+        RxUseCase<String, String> slow = RxUseCase.<String, String>fromSource(input -> pending)
+                .origin("Remote")
+                .decorateWith(decorator);
+        slow.create("3").test().assertNoValues().dispose();
+
+        slow.create("4").test().assertNoValues();
+        useCase.create("5").test().assertResult(Response.fail(CircuitBreakerDecorator.REJECTION));
+        assertEquals(State.HALF_OPEN, decorator.getState("Remote"));
+    }
+
+    @Test
+    public void ignoresTrialsOfPreviousRounds() {
+        CircuitBreakerDecorator decorator = newBuilder().halfOpenCalls(2).build();
+        RxUseCase<String, String> useCase = remote(decorator);
+        useCase.create("1").test();
+        useCase.create("2").test();
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+        PublishSubject<Response<String>> pending = PublishSubject.create();
+        RxUseCase<String, String> slow = RxUseCase.<String, String>fromSource(input -> pending)
+                .origin("Remote")
+                .decorateWith(decorator);
+        TestObserver<Response<String>> stale = slow.create("3").test();
+        useCase.create("4").test().assertResult(Response.fail(UNAVAILABLE));
+        assertEquals(State.OPEN, decorator.getState("Remote"));
+        useCase.create("5").test().assertResult(Response.fail(CircuitBreakerDecorator.REJECTION));
+
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        slow.create("6").test().assertNoValues();
+        slow.create("7").test().assertNoValues();
+        stale.dispose();
+        useCase.create("8").test().assertResult(Response.fail(CircuitBreakerDecorator.REJECTION));
+        assertEquals(State.HALF_OPEN, decorator.getState("Remote"));
+    }
+
+    @Test
+    public void recordsSelectedFailuresAndExceptions() {
+        CircuitBreakerDecorator decorator = newBuilder()
+                .recordFailures(UNAVAILABLE.getCode())
+                .recordExceptions(IOException.class)
+                .build();
+        RxUseCase<String, String> useCase = remote(decorator);
+        RxUseCase<String, String> failing = RxUseCase.<String, String>fromSource(
+                input -> Observable.error(new IllegalStateException()))
+                .origin("Remote")
+                .decorateWith(decorator);
+
+        result = Response.fail(INVALID);
+        useCase.create("1").test();
+        useCase.create("2").test();
+        failing.create("3").test().assertError(IllegalStateException.class);
+        assertEquals(State.CLOSED, decorator.getState("Remote"));
+    }
+
+    private CircuitBreakerDecorator.Builder newBuilder() {
+        return CircuitBreakerDecorator.newBuilder()
+                .windowSize(4)
+                .minimumCalls(2)
+                .openDuration(10, TimeUnit.SECONDS)
+                .clock(scheduler);
+    }
+
+    private RxUseCase<String, String> remote(CircuitBreakerDecorator decorator) {
+        return RxUseCase.<String, String>fromSource(input -> Observable.fromCallable(() -> {
+            executions.incrementAndGet();
+            return result;
+        })).origin("Remote").decorateWith(decorator);
+    }
+}
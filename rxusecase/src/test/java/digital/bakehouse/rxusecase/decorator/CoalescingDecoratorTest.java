@@ -0,0 +1,89 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import digital.bakehouse.rxusecase.operation.Asynchronous;
+import io.reactivex.observers.TestObserver;
+
+import static org.junit.Assert.assertEquals;
+
+public class CoalescingDecoratorTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final List<Asynchronous.Callback<String>> callbacks = new ArrayList<>();
+    private final RxUseCase<String, String> useCase = RxUseCase
+            .<String, String>fromAsynchronous((input, callback) -> {
+                executions.incrementAndGet();
+                callbacks.add(callback);
+            })
+            .decorateWith(CoalescingDecorator.getDefault());
+
+    @Test
+    public void sharesInFlightExecution() {
+        TestObserver<Response<String>> first = useCase.create(request("a")).test();
+        TestObserver<Response<String>> second = useCase.create(request("a")).test();
+        assertEquals(1, executions.get());
+
+        callbacks.get(0).succeed("A");
+
+        first.assertValue(Response.succeed("A"));
+        first.assertComplete();
+        second.assertValue(Response.succeed("A"));
+        second.assertComplete();
+    }
+
+    @Test
+    public void doesNotShareDifferentRequests() {
+        useCase.create(request("a")).test();
+        useCase.create(request("b")).test();
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void sharesExecutionJoinedWhileTerminating() {
+        List<TestObserver<Response<String>>> late = new ArrayList<>();
+        useCase.create(request("a")).subscribe(response -> {
+        }, error -> {
+        }, () -> late.add(useCase.create(request("a")).test()));
+
+        callbacks.get(0).succeed("A");
+        TestObserver<Response<String>> next = useCase.create(request("a")).test();
+        assertEquals(2, executions.get());
+
+        callbacks.get(1).succeed("AA");
+        late.get(0).assertResult(Response.succeed("AA"));
+        next.assertResult(Response.succeed("AA"));
+    }
+
+    @Test
+    public void executesAgainAfterTermination() {
+        useCase.create(request("a")).test();
+        callbacks.get(0).succeed("A");
+
+        TestObserver<Response<String>> observer = useCase.create(request("a")).test();
+        assertEquals(2, executions.get());
+
+        callbacks.get(1).succeed("AA");
+        observer.assertValue(Response.succeed("AA"));
+    }
+
+    @Test
+    public void executesAgainAfterDisposal() {
+        useCase.create(request("a")).test().dispose();
+        useCase.create(request("a")).test();
+
+        assertEquals(2, executions.get());
+    }
+
+    private static Request<String> request(String input) {
+        return Request.newBuilder(input).build();
+    }
+}
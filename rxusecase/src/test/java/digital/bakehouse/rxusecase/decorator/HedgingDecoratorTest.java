@@ -0,0 +1,158 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HedgingDecoratorTest {
+
+    private static final Failure UNAVAILABLE = new Failure("UNAVAILABLE", "Service unavailable");
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final List<PublishSubject<Response<String>>> copies = new ArrayList<>();
+    private final RxUseCase<String, String> pending = RxUseCase.fromSource(input ->
+            Observable.defer(() -> {
+                PublishSubject<Response<String>> copy = PublishSubject.create();
+                copies.add(copy);
+                return copy;
+            }));
+
+    @Test
+    public void hedgesAfterDelayAndTakesFirstSuccess() {
+        HedgingDecorator decorator = newBuilder().build();
+        TestObserver<Response<String>> observer = pending.decorateWith(decorator).create("a").test();
+
+        assertEquals(1, copies.size());
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertEquals(2, copies.size());
+
+        copies.get(1).onNext(Response.succeed("hedge"));
+
+        observer.assertResult(Response.succeed("hedge"));
+        assertFalse(copies.get(0).hasObservers());
+        assertEquals(1, decorator.getHedgeCount());
+    }
+
+    @Test
+    public void waitsForRunningCopiesOnException() {
+        HedgingDecorator decorator = newBuilder().build();
+        TestObserver<Response<String>> observer = pending.decorateWith(decorator).create("a").test();
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        copies.get(1).onError(new IllegalStateException());
+        observer.assertEmpty();
+        copies.get(0).onNext(Response.succeed("primary"));
+
+        observer.assertResult(Response.succeed("primary"));
+    }
+
+    @Test
+    public void propagatesExceptionOfLastCopy() {
+        HedgingDecorator decorator = newBuilder().build();
+        TestObserver<Response<String>> observer = pending.decorateWith(decorator).create("a").test();
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        copies.get(0).onNext(Response.fail(UNAVAILABLE));
+        copies.get(1).onError(new IllegalStateException());
+
+        observer.assertError(IllegalStateException.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeDelay() {
+        HedgingDecorator.newBuilder().delay(-1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void doesNotHedgeFastResponses() {
+        HedgingDecorator decorator = newBuilder().build();
+        TestObserver<Response<String>> observer = pending.decorateWith(decorator).create("a").test();
+
+        copies.get(0).onNext(Response.succeed("primary"));
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        observer.assertResult(Response.succeed("primary"));
+        assertEquals(1, copies.size());
+    }
+
+    @Test
+    public void waitsForRunningCopiesOnFailure() {
+        HedgingDecorator decorator = newBuilder().build();
+        TestObserver<Response<String>> observer = pending.decorateWith(decorator).create("a").test();
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        copies.get(0).onNext(Response.fail(UNAVAILABLE));
+        observer.assertNoValues();
+        copies.get(1).onNext(Response.fail(UNAVAILABLE));
+
+        observer.assertResult(Response.fail(UNAVAILABLE));
+    }
+
+    @Test
+    public void limitsHedgesByBudget() {
+        HedgingDecorator decorator = newBuilder().budget(0, 1).build();
+        RxUseCase<String, String> useCase = pending.decorateWith(decorator);
+
+        useCase.create("a").test();
+        useCase.create("b").test();
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        assertEquals(3, copies.size());
+        assertEquals(1, decorator.getHedgeCount());
+    }
+
+    @Test
+    public void adaptsDelayToLatencyPercentile() {
+        HedgingDecorator decorator = newBuilder().percentile(50).windowSize(4).build();
+        RxUseCase<String, String> useCase = RxUseCase.<String, String>fromSource(input ->
+                Observable.timer(20, TimeUnit.MILLISECONDS, scheduler)
+                        .map(ignored -> Response.succeed(input)))
+                .origin("Remote")
+                .decorateWith(decorator);
+
+        for (int i = 0; i < 4; i++) {
+            TestObserver<Response<String>> observer = useCase.create("a").test();
+            scheduler.advanceTimeBy(20, TimeUnit.MILLISECONDS);
+            observer.assertComplete();
+        }
+
+        long delay = decorator.getDelay("Remote", TimeUnit.MILLISECONDS);
+        assertTrue(delay >= 20 && delay < 25);
+        assertEquals(0, decorator.getHedgeCount());
+    }
+
+    @Test
+    public void measuresHedgedExecutionsFromStart() {
+        HedgingDecorator decorator = newBuilder().percentile(100).windowSize(1).build();
+        TestObserver<Response<String>> observer = pending.origin("Remote")
+                .decorateWith(decorator)
+                .create("a")
+                .test();
+
+        scheduler.advanceTimeBy(120, TimeUnit.MILLISECONDS);
+        copies.get(1).onNext(Response.succeed("hedge"));
+
+        observer.assertResult(Response.succeed("hedge"));
+        assertTrue(decorator.getDelay("Remote", TimeUnit.MILLISECONDS) >= 120);
+    }
+
+    private HedgingDecorator.Builder newBuilder() {
+        return HedgingDecorator.newBuilder()
+                .delay(100, TimeUnit.MILLISECONDS)
+                .clock(scheduler);
+    }
+}
@@ -0,0 +1,144 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LogDecoratorTest {
+
+    private final List<String> messages = new ArrayList<>();
+
+    @Test
+    public void logsAllPhasesByDefault() {
+        echo("Echo", LogDecorator.getWithOutput(messages::add)).create("hello").test();
+
+        assertEquals(4, messages.size());
+        assertEquals("Echo(hello) ~~ Subscribe", messages.get(0));
+        assertEquals("Echo(hello) ~~ Success = hello", messages.get(1));
+        assertEquals("Echo(hello) ~~ Complete", messages.get(2));
+        assertTrue(messages.get(3).startsWith("Echo(hello) ~~ Finish ~~ Elapsed Time: "));
+    }
+
+    @Test
+    public void skipsFormattingBelowLevel() {
+        LogDecorator decorator = LogDecorator.newBuilder()
+                .output(messages::add)
+                .level(LogDecorator.Level.WARN)
+                .build();
+        Unprintable input = new Unprintable();
+
+        RxUseCase.<Unprintable, Unprintable>fromSynchronous(value -> value)
+                .origin("Echo")
+                .decorateWith(decorator)
+                .get(input);
+
+        assertEquals(0, input.printed);
+        assertEquals(0, messages.size());
+    }
+
+    @Test
+    public void passesStructuredEvents() {
+        List<LogDecorator.LogEvent> events = new ArrayList<>();
+        LogDecorator decorator = LogDecorator.newBuilder()
+                .sink(new LogDecorator.LogSink() {
+                    @Override
+                    public boolean isLoggable(LogDecorator.Level level, String origin) {
+                        return level == LogDecorator.Level.DEBUG;
+                    }
+
+                    @Override
+                    public void log(LogDecorator.LogEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        echo("Echo", decorator).create("hello").test();
+
+        assertEquals(3, events.size());
+        assertEquals(LogDecorator.Phase.SUCCESS, events.get(1).getPhase());
+        assertEquals("Echo", events.get(1).getOrigin());
+        assertSame("hello", events.get(1).getPayload());
+    }
+
+    @Test
+    public void disablesAndSamplesOrigins() {
+        LogDecorator decorator = LogDecorator.newBuilder()
+                .output(messages::add)
+                .sample(0)
+                .enable("Loud")
+                .disable("Quiet")
+                .build();
+
+        echo("Loud", decorator).create("a").test();
+        echo("Quiet", decorator).create("b").test();
+        echo("Other", decorator).create("c").test();
+
+        assertEquals(4, messages.size());
+        assertTrue(messages.get(0).startsWith("Loud"));
+    }
+
+    @Test
+    public void reportsContinuousTiming() throws InterruptedException {
+        List<LogDecorator.LogEvent> events = new ArrayList<>();
+        LogDecorator decorator = LogDecorator.newBuilder()
+                .sink(new LogDecorator.LogSink() {
+                    @Override
+                    public boolean isLoggable(LogDecorator.Level level, String origin) {
+                        return true;
+                    }
+
+                    @Override
+                    public void log(LogDecorator.LogEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+        PublishSubject<String> subject = PublishSubject.create();
+
+        RxUseCase.<String, String>fromSource(input -> subject.map(Response::succeed))
+                .origin("Ticker")
+                .decorateWith(decorator)
+                .create("tick")
+                .test();
+        subject.onNext("a");
+        Thread.sleep(5);
+        subject.onNext("b");
+        subject.onNext("c");
+        subject.onComplete();
+
+        LogDecorator.LogEvent finish = events.get(events.size() - 1);
+        assertEquals(LogDecorator.Phase.FINISH, finish.getPhase());
+        assertEquals(3, finish.getResponseCount());
+        assertTrue(finish.getFirstResponseNanos() >= 0);
+        assertTrue(finish.getMaxGapNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(finish.getElapsedNanos() >= finish.getMaxGapNanos());
+        assertTrue(finish.getMessage().contains(", Responses: 3, Max Gap: "));
+    }
+
+    private static RxUseCase<String, String> echo(String origin, LogDecorator decorator) {
+        return RxUseCase.<String, String>fromSynchronous(input -> input)
+                .origin(origin)
+                .decorateWith(decorator);
+    }
+
+    private static final class Unprintable {
+        private int printed;
+
+        @Override
+        public String toString() {
+            printed++;
+            return "unprintable";
+        }
+    }
+}
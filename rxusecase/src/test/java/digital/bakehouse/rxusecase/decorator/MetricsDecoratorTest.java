@@ -0,0 +1,61 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Test;
+
+import digital.bakehouse.rxusecase.FailureException;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsDecoratorTest {
+
+    private final MetricsDecorator decorator = MetricsDecorator.create();
+
+    @Test
+    public void recordsResponsesByOrigin() {
+        RxUseCase<String, String> useCase = RxUseCase.<String, String>fromSynchronous(input -> {
+            if (input.isEmpty()) {
+                throw FailureException.create("empty", "Empty input");
+            }
+            if (input.equals("!")) {
+                throw new IllegalArgumentException();
+            }
+            return input;
+        }).origin("Echo").decorateWith(decorator);
+
+        useCase.get("a");
+        useCase.get("b");
+        useCase.get("");
+        useCase.create("!").test();
+
+        MetricsDecorator.Snapshot snapshot = decorator.snapshot("Echo");
+        assertEquals(4, snapshot.getSubscriptions());
+        assertEquals(0, snapshot.getInFlight());
+        assertEquals(2, snapshot.getSuccesses());
+        assertEquals(1, snapshot.getFailureCount());
+        assertEquals(Long.valueOf(1), snapshot.getFailures().get("empty"));
+        assertEquals(1, snapshot.getExceptions());
+        assertEquals(4, snapshot.getLatency().getCount());
+        assertTrue(snapshot.getLatencyNanos(99.9) >= snapshot.getLatencyNanos(50));
+    }
+
+    @Test
+    public void recordsInFlight() {
+        PublishSubject<String> subject = PublishSubject.create();
+        RxUseCase<String, String> useCase = RxUseCase.<String, String>fromSource(input ->
+                subject.map(Response::succeed))
+                .origin("Stream")
+                .decorateWith(decorator);
+
+        useCase.create("a").test();
+        useCase.create("b").test();
+        assertEquals(2, decorator.snapshot("Stream").getInFlight());
+
+        subject.onComplete();
+        assertEquals(0, decorator.snapshot("Stream").getInFlight());
+        assertEquals(0, decorator.snapshot("Stream").getLatency().getCount());
+    }
+}
@@ -0,0 +1,105 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import digital.bakehouse.rxusecase.Request;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+
+public class RateLimitDecoratorTest {
+
+    private final TestScheduler scheduler = new TestScheduler();
+
+    @Test
+    public void rejectsOverRate() {
+        RateLimitDecorator decorator = RateLimitDecorator.newBuilder(2, 1, TimeUnit.SECONDS)
+                .clock(scheduler)
+                .build();
+        RxUseCase<String, String> useCase = echo("Metered", decorator);
+
+        useCase.create("1").test().assertResult(Response.succeed("1"));
+        useCase.create("2").test().assertResult(Response.succeed("2"));
+        assertEquals(0, decorator.getAvailablePermits("Metered"));
+        useCase.create("3").test().assertResult(Response.fail(RateLimitDecorator.REJECTION));
+        assertEquals(1, decorator.getRejectedCount());
+
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        assertEquals(1, decorator.getAvailablePermits("Metered"));
+        useCase.create("4").test().assertResult(Response.succeed("4"));
+    }
+
+    @Test
+    public void delaysUntilPermit() {
+        RateLimitDecorator decorator = RateLimitDecorator.newBuilder(1, 1, TimeUnit.SECONDS)
+                .delay()
+                .clock(scheduler)
+                .build();
+        RxUseCase<String, String> useCase = echo("Metered", decorator);
+
+        useCase.create("1").test().assertResult(Response.succeed("1"));
+        TestObserver<Response<String>> second = useCase.create("2").test();
+        TestObserver<Response<String>> third = useCase.create("3").test();
+
+        second.assertNoValues();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        second.assertResult(Response.succeed("2"));
+        third.assertNoValues();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        third.assertResult(Response.succeed("3"));
+    }
+
+    @Test
+    public void rejectsBeyondMaxDelay() {
+        RateLimitDecorator decorator = RateLimitDecorator.newBuilder(1, 1, TimeUnit.SECONDS)
+                .delay(1, TimeUnit.SECONDS)
+                .clock(scheduler)
+                .build();
+        RxUseCase<String, String> useCase = echo("Metered", decorator);
+
+        useCase.create("1").test();
+        useCase.create("2").test().assertNoValues();
+        useCase.create("3").test().assertResult(Response.fail(RateLimitDecorator.REJECTION));
+    }
+
+    @Test
+    public void releasesPermitOfDisposedDelay() {
+        RateLimitDecorator decorator = RateLimitDecorator.newBuilder(1, 1, TimeUnit.SECONDS)
+                .delay(1, TimeUnit.SECONDS)
+                .clock(scheduler)
+                .build();
+        RxUseCase<String, String> useCase = echo("Metered", decorator);
+
+        useCase.create("1").test();
+        useCase.create("2").test().dispose();
+        TestObserver<Response<String>> third = useCase.create("3").test();
+
+        third.assertNoValues();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        third.assertResult(Response.succeed("3"));
+    }
+
+    @Test
+    public void limitsByKey() {
+        RateLimitDecorator decorator = RateLimitDecorator.newBuilder(1, 1, TimeUnit.MINUTES)
+                .keyExtractor(Request::getInput)
+                .clock(scheduler)
+                .build();
+        RxUseCase<String, String> useCase = echo("Metered", decorator);
+
+        useCase.create("a").test().assertResult(Response.succeed("a"));
+        useCase.create("b").test().assertResult(Response.succeed("b"));
+        useCase.create("a").test().assertResult(Response.fail(RateLimitDecorator.REJECTION));
+    }
+
+    private static RxUseCase<String, String> echo(String origin, RateLimitDecorator decorator) {
+        return RxUseCase.<String, String>fromSynchronous(input -> input)
+                .origin(origin)
+                .decorateWith(decorator);
+    }
+}
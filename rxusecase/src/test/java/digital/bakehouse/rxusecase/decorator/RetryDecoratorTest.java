@@ -0,0 +1,126 @@
+package digital.bakehouse.rxusecase.decorator;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.Response;
+import digital.bakehouse.rxusecase.RxUseCase;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+
+public class RetryDecoratorTest {
+
+    private static final Failure UNAVAILABLE = new Failure("UNAVAILABLE", "Service unavailable");
+    private static final Failure INVALID = new Failure("INVALID", "Invalid input");
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    public void retriesFailureWithBackoff() {
+        RetryDecorator decorator = newBuilder().retryOn(UNAVAILABLE.getCode()).build();
+        TestObserver<Response<String>> observer = failing(2, decorator).create("a").test();
+
+        assertEquals(1, executions.get());
+        scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        assertEquals(1, executions.get());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(2, executions.get());
+        scheduler.advanceTimeBy(199, TimeUnit.MILLISECONDS);
+        observer.assertNoValues();
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+
+        observer.assertResult(Response.succeed("a"));
+        assertEquals(3, executions.get());
+        assertEquals(2, decorator.getRetryCount());
+    }
+
+    @Test
+    public void emitsLastFailureWhenExhausted() {
+        RetryDecorator decorator = newBuilder().retryOn(UNAVAILABLE.getCode()).maxRetries(2).build();
+        TestObserver<Response<String>> observer = failing(5, decorator).create("a").test();
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        observer.assertResult(Response.fail(UNAVAILABLE));
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    public void doesNotRetryOtherFailures() {
+        RetryDecorator decorator = newBuilder().retryOn(INVALID.getCode()).build();
+        failing(1, decorator).create("a").test().assertResult(Response.fail(UNAVAILABLE));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void retriesExceptionsByTypeOrMappedCode() {
+        RetryDecorator decorator = newBuilder()
+                .retryOn(UNAVAILABLE.getCode())
+                .retryOn(IOException.class)
+                .exceptionMapper(exception -> exception instanceof IllegalStateException
+                        ? UNAVAILABLE : null)
+                .build();
+
+        TestObserver<Response<String>> io = throwing(new IOException(), decorator).create("a").test();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        io.assertResult(Response.succeed("a"));
+
+        TestObserver<Response<String>> mapped =
+                throwing(new IllegalStateException(), decorator).create("b").test();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        mapped.assertResult(Response.succeed("b"));
+
+        throwing(new IllegalArgumentException(), decorator).create("c").test()
+                .assertError(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void limitsRetriesByBudget() {
+        RetryDecorator.Budget budget = RetryDecorator.Budget.create(0.5, 1);
+        RetryDecorator decorator = newBuilder()
+                .retryOn(UNAVAILABLE.getCode())
+                .maxRetries(5)
+                .budget(budget)
+                .build();
+
+        TestObserver<Response<String>> observer = failing(5, decorator).create("a").test();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        observer.assertResult(Response.fail(UNAVAILABLE));
+        assertEquals(2, executions.get());
+        assertEquals(0, budget.getAvailableRetries());
+    }
+
+    private RetryDecorator.Builder newBuilder() {
+        return RetryDecorator.newBuilder()
+                .jitter(0)
+                .budget(RetryDecorator.Budget.create(0, 100))
+                .scheduler(scheduler);
+    }
+
+    private RxUseCase<String, String> failing(int failures, RetryDecorator decorator) {
+        return RxUseCase.<String, String>fromSource(input -> Observable.fromCallable(() ->
+                executions.incrementAndGet() <= failures
+                        ? Response.<String>fail(UNAVAILABLE)
+                        : Response.succeed(input)))
+                .decorateWith(decorator);
+    }
+
+    private RxUseCase<String, String> throwing(Exception exception, RetryDecorator decorator) {
+        AtomicInteger attempts = new AtomicInteger();
+        return RxUseCase.<String, String>fromSource(input -> Observable.fromCallable(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw exception;
+            }
+            return Response.succeed(input);
+        })).decorateWith(decorator);
+    }
+}
@@ -0,0 +1,127 @@
+package digital.bakehouse.rxusecase.operation;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import digital.bakehouse.rxusecase.Failure;
+import digital.bakehouse.rxusecase.FailureException;
+import digital.bakehouse.rxusecase.Response;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchingUseCaseTest {
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final UpperCase useCase = new UpperCase(scheduler);
+
+    @Test
+    public void batchesWithinDelay() {
+        TestObserver<Response<String>> first = useCase.create("a").test();
+        TestObserver<Response<String>> second = useCase.create("b").test();
+        assertEquals(0, useCase.batches.size());
+
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+
+        assertEquals(Arrays.asList(Arrays.asList("a", "b")), useCase.batches);
+        first.assertValue(Response.succeed("A"));
+        first.assertComplete();
+        second.assertValue(Response.succeed("B"));
+        second.assertComplete();
+    }
+
+    @Test
+    public void batchesUpToMaxItems() {
+        for (String input : Arrays.asList("a", "b", "c", "d")) {
+            useCase.create(input).test();
+        }
+
+        assertEquals(Arrays.asList(Arrays.asList("a", "b", "c")), useCase.batches);
+
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList("a", "b", "c"), Arrays.asList("d")),
+                useCase.batches);
+    }
+
+    @Test
+    public void skipsDisposedExecutions() {
+        useCase.create("a").test().dispose();
+        TestObserver<Response<String>> observer = useCase.create("b").test();
+
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+
+        assertEquals(Arrays.asList(Arrays.asList("b")), useCase.batches);
+        observer.assertValue(Response.succeed("B"));
+    }
+
+    @Test
+    public void failsAllExecutions() {
+        TestObserver<Response<String>> first = useCase.create("a").test();
+        TestObserver<Response<String>> second = useCase.create("").test();
+
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+
+        Response<String> failure = Response.fail(new Failure("empty", "Empty input"));
+        first.assertValue(failure);
+        second.assertValue(failure);
+    }
+
+    @Test
+    public void disposesBatchWhenAllExecutionsDisposed() {
+        PublishSubject<List<Response<String>>> batch = PublishSubject.create();
+        BatchingUseCase<String, String> pending = new BatchingUseCase<String, String>(
+                2, 10, TimeUnit.MILLISECONDS, scheduler) {
+            @Override
+            protected Observable<List<Response<String>>> executeBatch(List<String> inputs) {
+                return batch;
+            }
+        };
+        TestObserver<Response<String>> first = pending.create("a").test();
+        TestObserver<Response<String>> second = pending.create("b").test();
+        assertTrue(batch.hasObservers());
+
+        first.dispose();
+        assertTrue(batch.hasObservers());
+        second.dispose();
+        assertFalse(batch.hasObservers());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeDelay() {
+        new UpperCase(-1, scheduler);
+    }
+
+    private static class UpperCase extends BatchingUseCase<String, String> {
+        private final List<List<String>> batches = new ArrayList<>();
+
+        private UpperCase(TestScheduler scheduler) {
+            this(10, scheduler);
+        }
+
+        private UpperCase(long maxDelay, TestScheduler scheduler) {
+            super(3, maxDelay, TimeUnit.MILLISECONDS, scheduler);
+        }
+
+        @Override
+        protected Observable<List<Response<String>>> executeBatch(List<String> inputs) {
+            batches.add(inputs);
+            if (inputs.contains("")) {
+                return Observable.error(FailureException.create("empty", "Empty input"));
+            }
+            List<Response<String>> responses = new ArrayList<>();
+            for (String input : inputs) {
+                responses.add(Response.succeed(input.toUpperCase()));
+            }
+            return Observable.just(responses);
+        }
+    }
+}
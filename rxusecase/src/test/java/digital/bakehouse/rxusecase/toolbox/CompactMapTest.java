@@ -0,0 +1,68 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactMapTest {
+
+    @Test
+    public void putsGetsAndRemoves() {
+        CompactMap<String, Integer> map = new CompactMap<>();
+        assertNull(map.put("a", 1));
+        assertNull(map.put("b", 2));
+        assertNull(map.put("c", 3));
+        assertEquals(Integer.valueOf(1), map.put("a", 10));
+
+        assertEquals(3, map.size());
+        assertEquals(Integer.valueOf(10), map.get("a"));
+        assertEquals(Integer.valueOf(2), map.remove("b"));
+        assertFalse(map.containsKey("b"));
+        assertEquals(Integer.valueOf(3), map.get("c"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void growsPastMaxSize() {
+        CompactMap<Integer, Integer> map = new CompactMap<>();
+        for (int i = 0; i < CompactMap.MAX_SIZE; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isFull());
+
+        map.put(0, 1);
+        map.put(CompactMap.MAX_SIZE, CompactMap.MAX_SIZE);
+
+        assertEquals(CompactMap.MAX_SIZE + 1, map.size());
+        assertEquals(Integer.valueOf(1), map.get(0));
+        assertEquals(Integer.valueOf(CompactMap.MAX_SIZE), map.get(CompactMap.MAX_SIZE));
+    }
+
+    @Test
+    public void removesWhileIterating() {
+        CompactMap<String, Integer> map = new CompactMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        int visited = 0;
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Integer> entry = iterator.next();
+            visited++;
+            if (entry.getValue() < 3) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(3, visited);
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(3), map.get("c"));
+    }
+}
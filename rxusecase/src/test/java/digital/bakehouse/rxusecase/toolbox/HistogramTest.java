@@ -0,0 +1,47 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramTest {
+
+    @Test
+    public void bucketsCoverValues() {
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE};
+        for (long value : values) {
+            long highest = Histogram.highestValueOf(Histogram.indexOf(value));
+            assertTrue(value + " <= " + highest, value <= highest);
+            assertTrue(value + " within 12.5%", highest - value <= value / 8);
+        }
+    }
+
+    @Test
+    public void reportsPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(51, snapshot.getValueAtPercentile(50));
+        assertEquals(103, snapshot.getValueAtPercentile(99));
+        assertEquals(1, snapshot.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void mergesSnapshots() {
+        Histogram first = new Histogram();
+        Histogram second = new Histogram();
+        first.record(10);
+        second.record(1000);
+
+        Histogram.Snapshot merged = first.snapshot().merge(second.snapshot());
+
+        assertEquals(2, merged.getCount());
+        assertEquals(10, merged.getValueAtPercentile(50));
+        assertEquals(1023, merged.getValueAtPercentile(100));
+    }
+}
@@ -0,0 +1,67 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RingBufferTest {
+
+    @Test
+    public void keepsOrderAndBound() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(i));
+            }
+            assertFalse(buffer.offer(4));
+            assertEquals(4, buffer.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(Integer.valueOf(i), buffer.poll());
+            }
+            assertNull(buffer.poll());
+        }
+    }
+
+    @Test
+    public void deliversEachElementOnceUnderContention() throws InterruptedException {
+        RingBuffer<Long> buffer = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 100_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (long i = 1; i <= perProducer; i++) {
+                    while (!buffer.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        long sum = 0;
+        int received = 0;
+        while (received < producers * perProducer) {
+            Long value = buffer.poll();
+            if (value != null) {
+                sum += value;
+                received++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * (perProducer * (perProducer + 1L) / 2), sum);
+        assertTrue(buffer.isEmpty());
+    }
+}
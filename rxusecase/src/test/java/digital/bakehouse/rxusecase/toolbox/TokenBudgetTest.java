@@ -0,0 +1,37 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TokenBudgetTest {
+
+    @Test
+    public void startsFullAndRefillsByRatio() {
+        TokenBudget budget = new TokenBudget(0.5, 1);
+
+        assertTrue(budget.withdraw());
+        assertFalse(budget.withdraw());
+        budget.deposit();
+        assertFalse(budget.withdraw());
+        budget.deposit();
+        assertTrue(budget.withdraw());
+    }
+
+    @Test
+    public void capsBalance() {
+        TokenBudget budget = new TokenBudget(1, 2);
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        assertEquals(2, budget.getAvailable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeRatio() {
+        new TokenBudget(-1, 1);
+    }
+}
@@ -0,0 +1,32 @@
+package digital.bakehouse.rxusecase.toolbox;
+
+import org.junit.Test;
+
+import digital.bakehouse.rxusecase.RxUseCase;
+import digital.bakehouse.rxusecase.decorator.SchedulerDecorator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void runsOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        Thread thread = RxUseCase.<Void, Thread>fromSynchronous(input -> Thread.currentThread())
+                .decorateWith(SchedulerDecorator.subscribeOnVirtualThreads())
+                .get()
+                .getData();
+
+        assertEquals(true, Thread.class.getMethod("isVirtual").invoke(thread));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void failsWhenNotSupported() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        VirtualThreads.scheduler();
+    }
+}